@@ -0,0 +1,53 @@
+package com.benchmarks;
+
+import com.exceptions.InvalidInputException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BookingService.createBooking} at the configured conflict rate, alone and with several writers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Attempt {
+        final HotelState.BookingAttempt attempt = new HotelState.BookingAttempt();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void createBooking(HotelState hotel, Attempt attempt, Blackhole blackhole) {
+        book(hotel, attempt, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void createBookingMultiThreaded(HotelState hotel, Attempt attempt, Blackhole blackhole) {
+        book(hotel, attempt, blackhole);
+    }
+
+    private static void book(HotelState hotel, Attempt attempt, Blackhole blackhole) {
+        HotelState.BookingAttempt a = hotel.nextAttempt(attempt.attempt);
+        try {
+            hotel.bookingService.createBooking(hotel.bookingRepository, a.user, a.room, a.checkIn, a.checkOut);
+        } catch (InvalidInputException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.benchmarks;
+
+import com.bulk.BulkImporter;
+import com.bulk.TrafficGenerator;
+import com.bulk.TrafficProfile;
+import com.dto.BookingRequest;
+import com.enums.Operation;
+import com.enums.RejectionReason;
+import com.exceptions.InvalidInputException;
+import com.metrics.BookingMetrics;
+import com.metrics.LatencyHistogram;
+import com.persistence.Journal;
+import com.repository.BookingRepository;
+import com.repository.OccupancyIndex;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+import com.service.BookingService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop capacity test: bulk imports a generated dataset, then replays seeded Poisson booking
+ * traffic at a fixed rate, each attempt on its own virtual thread. Response time is measured from
+ * the attempt's intended arrival, not from when it was actually started, so a stalled system is
+ * charged for the queue it builds (no coordinated omission).
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.benchmarks.CapacityTest [arrivalsPerSecond=20000] [seconds=10] [rooms=10000]
+ * </pre>
+ */
+public class CapacityTest {
+
+    private static final int USERS = 100_000;
+    private static final int BOOKINGS_PER_ROOM = 50;
+
+    public static void main(String[] args) throws Exception {
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : 20_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int roomCount = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        PrintStream report = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        TrafficProfile profile = TrafficProfile.builder().arrivalsPerSecond(rate).build();
+        Path dataset = Files.createTempDirectory("hotel-dataset");
+        try {
+            TrafficGenerator.writeDataset(dataset, profile, roomCount, USERS, BOOKINGS_PER_ROOM, 1_000_000_000);
+
+            OccupancyIndex occupancy = new OccupancyIndex();
+            RoomRepository rooms = new RoomRepository(occupancy);
+            UserRepository users = new UserRepository();
+            BookingRepository bookings = new BookingRepository(occupancy);
+            long importStart = System.nanoTime();
+            new BulkImporter(rooms, users, bookings).importDirectory(dataset);
+            report.printf("imported %d rooms, %d users, %d bookings in %d ms%n", rooms.size(), users.size(),
+                    bookings.size(), (System.nanoTime() - importStart) / 1_000_000);
+
+            BookingMetrics metrics = new BookingMetrics();
+            BookingService bookingService = new BookingService(Journal.NONE, metrics);
+            TrafficGenerator traffic = new TrafficGenerator(profile, rooms.findAll(), users.findAll());
+            LatencyHistogram responseTime = new LatencyHistogram();
+            LongAdder booked = new LongAdder();
+            LongAdder rejected = new LongAdder();
+            long durationNanos = seconds * 1_000_000_000L;
+            long sent = 0;
+
+            try (ExecutorService attempts = Executors.newVirtualThreadPerTaskExecutor()) {
+                long start = System.nanoTime();
+                for (TrafficGenerator.Arrival arrival = traffic.next(); arrival.offsetNanos() < durationNanos;
+                     arrival = traffic.next()) {
+                    long intended = start + arrival.offsetNanos();
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    BookingRequest request = arrival.request();
+                    attempts.execute(() -> {
+                        try {
+                            bookingService.createBooking(bookings, request.getUser(), request.getRoom(),
+                                    request.getCheckIn(), request.getCheckOut());
+                            booked.increment();
+                        } catch (InvalidInputException e) {
+                            rejected.increment();
+                        }
+                        responseTime.record(System.nanoTime() - intended);
+                    });
+                    sent++;
+                }
+            }
+
+            LatencyHistogram service = metrics.latency(Operation.CREATE_BOOKING);
+            report.printf("offered %.0f/s for %d s: %d attempts, %d booked, %d rejected%n",
+                    rate, seconds, sent, booked.sum(), rejected.sum());
+            report.printf("response ms (from intended arrival): p50=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                    responseTime.valueAtPercentile(50) / 1e6, responseTime.valueAtPercentile(99) / 1e6,
+                    responseTime.valueAtPercentile(99.9) / 1e6, responseTime.getMaxNanos() / 1e6);
+            report.printf("service ms (inside createBooking):  p50=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                    service.valueAtPercentile(50) / 1e6, service.valueAtPercentile(99) / 1e6,
+                    service.valueAtPercentile(99.9) / 1e6, service.getMaxNanos() / 1e6);
+            for (RejectionReason reason : RejectionReason.values()) {
+                report.printf("rejected %s=%d%n", reason, metrics.rejections(reason));
+            }
+        } finally {
+            System.setOut(report);
+            try (Stream<Path> files = Files.walk(dataset)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.benchmarks;
+
+import com.dto.BookingRequest;
+import com.dto.BookingResult;
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.BatchMode;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.persistence.Journal;
+import com.repository.BookingRepository;
+import com.repository.BookingStore;
+import com.repository.ColumnarBookingStore;
+import com.repository.OccupancyIndex;
+import com.service.BookingService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-threaded stress check of the booking paths. Threads book, move and cancel stays on a few
+ * contended rooms with users who run out of money, then the run checks that no room is double-booked,
+ * every stored stay is marked occupied, no balance went negative and money is conserved (balances plus
+ * confirmed totals equal the starting balances). Both booking stores are checked, and the process exits
+ * with status 1 on any violation.
+ * <p>
+ * Pairs of batches from one user then share idempotency keys in opposite orders, so each batch owns a
+ * key the other waits on; every pair must finish, and both batches must report the same bookings.
+ * <p>
+ * A last phase books on distinct rooms with 1, 2, 4... threads and reports throughput, which should
+ * grow with the thread count as only bookings of the same room contend.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.benchmarks.ConcurrencyStressTest [threads=16] [operationsPerThread=20000]
+ * </pre>
+ */
+public class ConcurrencyStressTest {
+
+    private static final int ROOMS = 20;
+    private static final int USERS = 50;
+    private static final int STARTING_BALANCE = 20_000;
+    private static final int WINDOW_DAYS = 90;
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2030, 1, 1);
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        PrintStream report = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        List<String> violations = new ArrayList<>();
+        try {
+            Map<String, Function<OccupancyIndex, BookingStore>> stores = Map.of(
+                    "map", BookingRepository::new,
+                    "columnar", ColumnarBookingStore::new);
+            for (Map.Entry<String, Function<OccupancyIndex, BookingStore>> store : stores.entrySet()) {
+                violations.addAll(stress(report, store.getKey(), store.getValue().apply(new OccupancyIndex()), threads, operations));
+            }
+            violations.addAll(reversedBatches(report, Math.max(operations / 100, 1)));
+            for (int parallelism = 1; parallelism <= Math.max(threads, 1); parallelism <<= 1) {
+                scaling(report, parallelism, operations);
+            }
+        } finally {
+            System.setOut(report);
+        }
+
+        violations.forEach(violation -> report.println("FAIL " + violation));
+        report.println(violations.isEmpty() ? "OK: no double bookings, no negative balances, money conserved, no stuck batches" : "FAILED");
+        if (!violations.isEmpty()) System.exit(1);
+    }
+
+    private static List<String> stress(PrintStream report, String name, BookingStore bookings, int threads, int operations)
+            throws Exception {
+        BookingService service = new BookingService(Journal.NONE);
+        RoomType[] types = RoomType.values();
+        Room[] rooms = new Room[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            rooms[i] = new Room(i + 1, types[i % types.length], 100.0 + 25 * i);
+        }
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = new User("user-" + i, STARTING_BALANCE);
+        }
+
+        AtomicInteger lastBooked = new AtomicInteger();
+        LongAdder booked = new LongAdder();
+        LongAdder moved = new LongAdder();
+        LongAdder cancelled = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        CountDownLatch go = new CountDownLatch(1);
+        long start;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(42 + t);
+                workers.add(pool.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < operations; i++) {
+                        LocalDate checkIn = FIRST_NIGHT.plusDays(random.nextInt(WINDOW_DAYS));
+                        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+                        int action = random.nextInt(10);
+                        try {
+                            if (action < 7 || lastBooked.get() == 0) {
+                                Booking booking = service.createBooking(bookings, users[random.nextInt(USERS)],
+                                        rooms[random.nextInt(ROOMS)], checkIn, checkOut);
+                                lastBooked.accumulateAndGet(booking.getBookingId(), Math::max);
+                                booked.increment();
+                            } else if (action < 9) {
+                                service.updateBookingDates(bookings, 1 + random.nextInt(lastBooked.get()), checkIn, checkOut);
+                                moved.increment();
+                            } else {
+                                service.cancelBooking(bookings, 1 + random.nextInt(lastBooked.get()));
+                                cancelled.increment();
+                            }
+                        } catch (InvalidInputException e) {
+                            rejected.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        report.printf("%s: %d threads x %d operations in %d ms: %d booked, %d moved, %d cancelled, %d rejected%n",
+                name, threads, operations, (System.nanoTime() - start) / 1_000_000,
+                booked.sum(), moved.sum(), cancelled.sum(), rejected.sum());
+        return verify(name, bookings, users);
+    }
+
+    private static List<String> verify(String name, BookingStore bookings, User[] users) {
+        List<String> violations = new ArrayList<>();
+        List<Booking> confirmed = bookings.findAll().stream().filter(booking -> !booking.isCancelled()).toList();
+
+        Map<Integer, List<Booking>> byRoom = confirmed.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getRoomNumber().getRoomNumber()));
+        for (Map.Entry<Integer, List<Booking>> room : byRoom.entrySet()) {
+            List<Booking> stays = new ArrayList<>(room.getValue());
+            stays.sort(Comparator.comparing(Booking::getCheckIn));
+            for (int i = 1; i < stays.size(); i++) {
+                if (stays.get(i).getCheckIn().isBefore(stays.get(i - 1).getCheckOut())) {
+                    violations.add(name + ": room " + room.getKey() + " double-booked by bookings "
+                            + stays.get(i - 1).getBookingId() + " and " + stays.get(i).getBookingId());
+                }
+            }
+        }
+        for (Booking booking : confirmed) {
+            if (!bookings.isOccupied(booking.getRoomNumber().getRoomNumber(), booking.getCheckIn(), booking.getCheckOut())) {
+                violations.add(name + ": booking " + booking.getBookingId() + " is stored but its dates are free");
+            }
+        }
+
+        long money = confirmed.stream().mapToLong(Booking::getTotalCost).sum();
+        for (User user : users) {
+            if (user.getBalance() < 0) {
+                violations.add(name + ": " + user.getId() + " has a negative balance of " + user.getBalance());
+            }
+            money += user.getBalance();
+        }
+        if (money != (long) USERS * STARTING_BALANCE) {
+            violations.add(name + ": balances plus booking totals are " + money + ", expected " + (long) USERS * STARTING_BALANCE);
+        }
+        return violations;
+    }
+
+    // Long batches, so the two claim loops overlap and meet in the middle, each owning half the keys
+    private static List<String> reversedBatches(PrintStream report, int pairs) throws Exception {
+        int keys = 1000;
+        BookingStore bookings = new BookingRepository(new OccupancyIndex());
+        BookingService service = new BookingService(Journal.NONE);
+        User user = new User("batch-user", Integer.MAX_VALUE);
+        List<String> violations = new ArrayList<>();
+        long start = System.nanoTime();
+        // Daemons, and never awaited: threads stuck on each other's keys must not keep the check from reporting
+        ExecutorService pool = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "reversed-batches");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int pair = 0; pair < pairs && violations.isEmpty(); pair++) {
+                Room room = new Room(pair + 1, RoomType.STANDARD, 1.0);
+                List<BookingRequest> forwardOrder = new ArrayList<>(keys);
+                for (int i = 0; i < keys; i++) {
+                    LocalDate checkIn = FIRST_NIGHT.plusDays(i);
+                    forwardOrder.add(new BookingRequest(user, room, checkIn, checkIn.plusDays(1), pair + "-" + i));
+                }
+                List<BookingRequest> reversedOrder = new ArrayList<>(forwardOrder.reversed());
+                CountDownLatch go = new CountDownLatch(1);
+                Future<List<BookingResult>> forward = pool.submit(() -> {
+                    go.await();
+                    return service.createBookings(bookings, forwardOrder, BatchMode.BEST_EFFORT);
+                });
+                Future<List<BookingResult>> reversed = pool.submit(() -> {
+                    go.await();
+                    return service.createBookings(bookings, reversedOrder, BatchMode.BEST_EFFORT);
+                });
+                go.countDown();
+                try {
+                    List<BookingResult> a = forward.get(10, TimeUnit.SECONDS);
+                    List<BookingResult> b = reversed.get(10, TimeUnit.SECONDS);
+                    for (int i = 0; i < keys; i++) {
+                        Booking booking = a.get(i).getBooking();
+                        if (booking == null || booking != b.get(keys - 1 - i).getBooking()) {
+                            violations.add("batches: pair " + pair + " got different outcomes for key " + i + ": "
+                                    + a.get(i) + " / " + b.get(keys - 1 - i));
+                            break;
+                        }
+                    }
+                } catch (TimeoutException e) {
+                    violations.add("batches: pair " + pair + " with reversed keys did not finish; they wait on each other");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        report.printf("batches: %d pairs of %d-request batches with reversed keys in %d ms, %d bookings%n",
+                pairs, keys, (System.nanoTime() - start) / 1_000_000, bookings.size());
+        return violations;
+    }
+
+    // Each thread books back-to-back stays on rooms of its own, so nothing but the store is shared
+    private static void scaling(PrintStream report, int threads, int operations) throws Exception {
+        BookingStore bookings = new BookingRepository(new OccupancyIndex());
+        BookingService service = new BookingService(Journal.NONE);
+        int roomsPerThread = 64;
+        CountDownLatch go = new CountDownLatch(1);
+        long start;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int firstRoom = t * roomsPerThread + 1;
+                workers.add(pool.submit(() -> {
+                    User user = new User("scaling-" + firstRoom, Integer.MAX_VALUE);
+                    Room[] rooms = new Room[roomsPerThread];
+                    for (int i = 0; i < roomsPerThread; i++) {
+                        rooms[i] = new Room(firstRoom + i, RoomType.STANDARD, 1.0);
+                    }
+                    go.await();
+                    for (int i = 0; i < operations; i++) {
+                        LocalDate checkIn = FIRST_NIGHT.plusDays(i / roomsPerThread);
+                        service.createBooking(bookings, user, rooms[i % roomsPerThread], checkIn, checkIn.plusDays(1));
+                    }
+                    return null;
+                }));
+            }
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        report.printf("scaling: %2d threads on distinct rooms: %,.0f bookings/s%n", threads, threads * operations / seconds);
+    }
+}
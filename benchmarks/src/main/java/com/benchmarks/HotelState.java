@@ -0,0 +1,142 @@
+package com.benchmarks;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.RoomType;
+import com.repository.BookingRepository;
+import com.repository.OccupancyIndex;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+import com.service.BookingService;
+import com.service.RoomService;
+import com.service.UserService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-populated hotel shared by all benchmark threads: {@code rooms} rooms, {@code users} users and
+ * {@code bookingsPerRoom} one-night bookings per room on alternating nights.
+ * <p>
+ * The services print to {@code System.out} on every call; stdout is swapped for a null stream for
+ * the duration of the trial so the benchmarks measure the services rather than the console.
+ */
+@State(Scope.Benchmark)
+public class HotelState {
+
+    static final LocalDate PRELOAD_START = LocalDate.of(2026, 1, 1);
+    static final LocalDate FRESH_START = LocalDate.of(2030, 1, 1);
+
+    @Param({"1000", "10000"})
+    public int rooms;
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    @Param({"10", "100"})
+    public int bookingsPerRoom;
+
+    // Share of booking attempts aimed at an already booked night
+    @Param({"0.0", "0.5"})
+    public double conflictRate;
+
+    public final RoomService roomService = new RoomService();
+    public final UserService userService = new UserService();
+    public final BookingService bookingService = new BookingService();
+
+    public RoomRepository roomRepository;
+    public UserRepository userRepository;
+    public BookingRepository bookingRepository;
+
+    Room[] roomArray;
+    User[] userArray;
+    String[] userIds;
+    private final AtomicLong freshSlots = new AtomicLong();
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        OccupancyIndex occupancy = new OccupancyIndex();
+        roomRepository = new RoomRepository(occupancy);
+        userRepository = new UserRepository();
+        bookingRepository = new BookingRepository(occupancy);
+
+        RoomType[] types = RoomType.values();
+        for (int i = 1; i <= rooms; i++) {
+            roomService.createRoom(roomRepository, i, types[i % types.length], 100.0 + i % 50);
+        }
+        for (int i = 0; i < users; i++) {
+            userService.createUser(userRepository, "user-" + i, Integer.MAX_VALUE / 2);
+        }
+        roomArray = roomRepository.findAll().toArray(new Room[0]);
+        List<User> allUsers = userRepository.findAll();
+        userArray = allUsers.toArray(new User[0]);
+        userIds = allUsers.stream().map(User::getId).toArray(String[]::new);
+
+        int id = 0;
+        for (Room room : roomArray) {
+            for (int b = 0; b < bookingsPerRoom; b++) {
+                LocalDate checkIn = PRELOAD_START.plusDays(2L * b);
+                bookingRepository.add(new Booking(++id, userArray[id % users], room, checkIn, checkIn.plusDays(1),
+                        room.getPrice(), room.getPrice().intValue()));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreStdout() {
+        System.setOut(stdout);
+    }
+
+    Room randomRoom() {
+        return roomArray[ThreadLocalRandom.current().nextInt(roomArray.length)];
+    }
+
+    User randomUser() {
+        return userArray[ThreadLocalRandom.current().nextInt(userArray.length)];
+    }
+
+    String randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    /**
+     * A booking attempt that conflicts with probability {@link #conflictRate}. Non-conflicting attempts
+     * walk rooms round-robin and only then move to the next night, so the calendar stays dense.
+     */
+    BookingAttempt nextAttempt(BookingAttempt attempt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (bookingsPerRoom > 0 && random.nextDouble() < conflictRate) {
+            attempt.room = randomRoom();
+            attempt.checkIn = PRELOAD_START.plusDays(2L * random.nextInt(bookingsPerRoom));
+        } else {
+            long slot = freshSlots.getAndIncrement();
+            attempt.room = roomArray[(int) (slot % roomArray.length)];
+            attempt.checkIn = FRESH_START.plusDays(slot / roomArray.length);
+        }
+        attempt.checkOut = attempt.checkIn.plusDays(1);
+        attempt.user = randomUser();
+        return attempt;
+    }
+
+    static final class BookingAttempt {
+        Room room;
+        User user;
+        LocalDate checkIn;
+        LocalDate checkOut;
+    }
+}
@@ -0,0 +1,155 @@
+package com.benchmarks;
+
+import com.api.HotelApiServer;
+import com.enums.RoomType;
+import com.metrics.LatencyHistogram;
+import com.repository.BookingRepository;
+import com.repository.OccupancyIndex;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+import com.service.BookingService;
+import com.service.ReportService;
+import com.service.RoomService;
+import com.service.UserService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of the HTTP API: starts the server in-process on a free localhost port,
+ * then every simulated client (one virtual thread each) sends its requests back to back.
+ * The mix is 30% bookings, 40% availability queries and 30% booking / user lookups.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.benchmarks.HttpLoadTest [clients=2000] [requestsPerClient=50]
+ * </pre>
+ * Rejected bookings (409 overlap, 422 balance) are expected under contention and counted as 4xx;
+ * anything 5xx or a failed connection is reported as an error.
+ */
+public class HttpLoadTest {
+
+    private static final int ROOMS = 1000;
+    private static final LocalDate BASE = LocalDate.of(2027, 1, 1);
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        // Services confirm every change on stdout; keep the report readable
+        PrintStream report = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        OccupancyIndex occupancy = new OccupancyIndex();
+        RoomRepository rooms = new RoomRepository(occupancy);
+        UserRepository users = new UserRepository();
+        BookingRepository bookings = new BookingRepository(occupancy);
+        RoomService roomService = new RoomService();
+        UserService userService = new UserService();
+        BookingService bookingService = new BookingService();
+        RoomType[] types = RoomType.values();
+        for (int i = 1; i <= ROOMS; i++) {
+            roomService.createRoom(rooms, i, types[i % types.length], 100.0 * (1 + i % types.length));
+        }
+        for (int i = 0; i < clients; i++) {
+            userService.createUser(users, "client-" + i, 1_000_000);
+        }
+
+        HotelApiServer server = new HotelApiServer(new InetSocketAddress("localhost", 0), rooms, users, bookings,
+                roomService, userService, bookingService, new ReportService());
+        server.start();
+        String base = "http://localhost:" + server.port();
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder errors = new LongAdder();
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(clientThreads)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            long start = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                String userId = "client-" + c;
+                running.add(clientThreads.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        HttpRequest request = nextRequest(base, userId);
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            latency.record(System.nanoTime() - sent);
+                            if (status < 300) {
+                                ok.increment();
+                            } else if (status < 500) {
+                                rejected.increment();
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long total = ok.sum() + rejected.sum() + errors.sum();
+            report.printf("clients=%d requests=%d in %.2f s -> %.0f req/s%n",
+                    clients, total, elapsed / 1e9, total / (elapsed / 1e9));
+            report.printf("2xx=%d 4xx=%d errors=%d bookings stored=%d%n",
+                    ok.sum(), rejected.sum(), errors.sum(), bookings.size());
+            report.printf("latency ms: mean=%.2f p50=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                    latency.getMeanNanos() / 1e6,
+                    latency.valueAtPercentile(50) / 1e6,
+                    latency.valueAtPercentile(99) / 1e6,
+                    latency.valueAtPercentile(99.9) / 1e6,
+                    latency.getMaxNanos() / 1e6);
+        } finally {
+            server.stop(0);
+            System.setOut(report);
+        }
+    }
+
+    private static HttpRequest nextRequest(String base, String userId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(10);
+        LocalDate checkIn = BASE.plusDays(random.nextInt(365));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(4));
+        if (roll < 3) {
+            String body = "{\"userId\":\"" + userId + "\",\"roomNumber\":" + (1 + random.nextInt(ROOMS))
+                    + ",\"checkIn\":\"" + checkIn + "\",\"checkOut\":\"" + checkOut + "\"}";
+            return HttpRequest.newBuilder(URI.create(base + "/bookings"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        if (roll < 7) {
+            RoomType type = RoomType.values()[random.nextInt(RoomType.values().length)];
+            return HttpRequest.newBuilder(URI.create(base + "/availability?type=" + type
+                    + "&checkIn=" + checkIn + "&checkOut=" + checkOut)).GET().build();
+        }
+        if (roll < 9) {
+            return HttpRequest.newBuilder(URI.create(base + "/bookings/" + (1 + random.nextInt(10_000)))).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + "/users/" + userId)).GET().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.benchmarks;
+
+import com.dto.Page;
+import com.entities.Booking;
+import com.view.BookingTable;
+import com.view.RoomTable;
+import com.view.UserTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full listings as printed by menu options 4-6, streamed page by page into a null stream,
+ * plus fetching a single page of bookings as the HTTP API does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ListingBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+    private static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+    @Benchmark
+    public void listAllBookings(HotelState hotel) {
+        new BookingTable(NULL_OUT).write(cursor -> hotel.bookingService.listBookings(hotel.bookingRepository, cursor, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public void listAllRooms(HotelState hotel) {
+        new RoomTable(NULL_OUT).write(cursor -> hotel.roomService.listRooms(hotel.roomRepository, cursor, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public void listAllUsers(HotelState hotel) {
+        new UserTable(NULL_OUT).write(cursor -> hotel.userService.listUsers(hotel.userRepository, cursor, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<Booking> firstBookingPage(HotelState hotel) {
+        return hotel.bookingService.listBookings(hotel.bookingRepository, null, 50);
+    }
+}
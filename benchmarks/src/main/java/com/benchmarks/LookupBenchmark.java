@@ -0,0 +1,50 @@
+package com.benchmarks;
+
+import com.entities.Room;
+import com.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups through {@code RoomService.findRoom}, {@code UserService.findUserById} and
+ * {@code BookingService.findBooking} with random keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Benchmark
+    public Optional<Room> findRoom(HotelState hotel) {
+        return hotel.roomService.findRoom(hotel.roomRepository, hotel.randomRoom().getRoomNumber());
+    }
+
+    @Benchmark
+    public Optional<User> findUserById(HotelState hotel) {
+        return hotel.userService.findUserById(hotel.userRepository, hotel.randomUserId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<User> findUserByIdMultiThreaded(HotelState hotel) {
+        return hotel.userService.findUserById(hotel.userRepository, hotel.randomUserId());
+    }
+
+    @Benchmark
+    public Object findBooking(HotelState hotel) {
+        int bookings = hotel.rooms * hotel.bookingsPerRoom;
+        return hotel.bookingService.findBooking(hotel.bookingRepository, 1 + ThreadLocalRandom.current().nextInt(bookings));
+    }
+}
@@ -0,0 +1,120 @@
+package com.benchmarks;
+
+import com.engine.PartitionConfig;
+import com.engine.PartitionedBookingEngine;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.repository.BookingRepository;
+import com.repository.OccupancyIndex;
+import com.repository.RoomRepository;
+import com.service.BookingService;
+import com.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot, contended booking traffic (every thread aimed at the same few rooms, so most attempts
+ * overlap) through the lock-based {@code BookingService} and through the
+ * {@link PartitionedBookingEngine}, at {@code partitions} writer threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class PartitionedBookingBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @State(Scope.Benchmark)
+    public static class Hotel {
+
+        @Param({"16", "1024"})
+        public int hotRooms;
+
+        @Param({"2", "4"})
+        public int partitions;
+
+        final BookingService bookingService = new BookingService();
+        BookingRepository bookings;
+        PartitionedBookingEngine engine;
+        Room[] rooms;
+        User user;
+        private PrintStream stdout;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            stdout = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            OccupancyIndex occupancy = new OccupancyIndex();
+            RoomRepository roomRepository = new RoomRepository(occupancy);
+            for (int i = 1; i <= hotRooms; i++) {
+                new RoomService().createRoom(roomRepository, i, RoomType.STANDARD, 100.0);
+            }
+            rooms = roomRepository.findAll().toArray(new Room[0]);
+            user = new User("hot", Integer.MAX_VALUE);
+            // Separate occupancy bitmaps so both modes start from an empty calendar
+            bookings = new BookingRepository(new OccupancyIndex());
+            engine = new PartitionedBookingEngine(new OccupancyIndex(), PartitionConfig.builder()
+                    .partitions(partitions)
+                    .roomsPerRange(Math.max(1, hotRooms / (partitions * 4)))
+                    .build());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            engine.close();
+            System.setOut(stdout);
+        }
+
+        Room room() {
+            return rooms[ThreadLocalRandom.current().nextInt(rooms.length)];
+        }
+
+        LocalDate night() {
+            return START.plusDays(ThreadLocalRandom.current().nextInt(3650));
+        }
+    }
+
+    @Benchmark
+    public void lockBased(Hotel hotel, Blackhole blackhole) {
+        LocalDate checkIn = hotel.night();
+        try {
+            blackhole.consume(hotel.bookingService.createBooking(hotel.bookings, hotel.user, hotel.room(), checkIn, checkIn.plusDays(1)));
+        } catch (InvalidInputException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void partitioned(Hotel hotel, Blackhole blackhole) {
+        LocalDate checkIn = hotel.night();
+        try {
+            blackhole.consume(hotel.engine.createBooking(hotel.user, hotel.room(), checkIn, checkIn.plusDays(1)));
+        } catch (InvalidInputException e) {
+            blackhole.consume(e);
+        }
+    }
+}
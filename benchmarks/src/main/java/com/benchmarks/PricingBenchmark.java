@@ -0,0 +1,82 @@
+package com.benchmarks;
+
+import com.entities.Room;
+import com.enums.RoomType;
+import com.pricing.PricingConfig;
+import com.pricing.PricingEngine;
+import com.pricing.RateRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quoting stays of {@code nights} nights against a year of seasonal, weekday and per-room rules;
+ * the cost should not grow with the stay and the GC profiler should report no allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2027, 1, 1);
+
+    @Param({"1", "7", "300"})
+    public int nights;
+
+    private PricingEngine pricing;
+    private Room[] rooms;
+    // Stays are drawn up front so the measured path creates no dates
+    private LocalDate[] checkIns;
+    private LocalDate[] checkOuts;
+
+    @Setup
+    public void setUp() {
+        pricing = new PricingEngine(PricingConfig.builder()
+                .firstNight(FIRST_NIGHT)
+                .horizonDays(2 * 366)
+                .rules(List.of(
+                        RateRule.builder().from(LocalDate.of(2027, 6, 15)).until(LocalDate.of(2027, 9, 1)).basisPoints(13_000).build(),
+                        RateRule.builder().from(LocalDate.of(2027, 12, 20)).until(LocalDate.of(2028, 1, 3)).basisPoints(15_000).build(),
+                        RateRule.builder().days(Set.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY)).basisPoints(11_500).build(),
+                        RateRule.builder().roomType(RoomType.MASTER).days(Set.of(DayOfWeek.SUNDAY)).basisPoints(9_000).build(),
+                        RateRule.builder().roomNumber(7).basisPoints(12_000).build()))
+                .build());
+        RoomType[] types = RoomType.values();
+        rooms = new Room[1024];
+        for (int i = 0; i < rooms.length; i++) {
+            rooms[i] = new Room(i + 1, types[i % types.length], 99.99 + i);
+        }
+        checkIns = new LocalDate[365];
+        checkOuts = new LocalDate[365];
+        for (int day = 0; day < checkIns.length; day++) {
+            checkIns[day] = FIRST_NIGHT.plusDays(day);
+            checkOuts[day] = checkIns[day].plusDays(nights);
+        }
+    }
+
+    @Benchmark
+    public long quote() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Room room = rooms[random.nextInt(rooms.length)];
+        int day = random.nextInt(checkIns.length);
+        return pricing.quote(room, checkIns[day], checkOuts[day]);
+    }
+}
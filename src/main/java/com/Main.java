@@ -1,43 +1,103 @@
 package com;
 
-import com.entities.Booking;
+import com.api.HotelApiServer;
+import com.bulk.BulkImporter;
 import com.entities.Room;
 import com.entities.User;
+import com.enums.RejectionReason;
 import com.enums.RoomType;
+import com.events.EventBus;
+import com.events.EventLogWriter;
 import com.exceptions.InvalidInputException;
+import com.metrics.BookingMetrics;
+import com.persistence.Journal;
+import com.persistence.JournalConfig;
+import com.persistence.PersistenceManager;
+import com.repository.BookingRepository;
+import com.repository.BookingStore;
+import com.repository.ColumnarBookingStore;
+import com.repository.OccupancyIndex;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
 import com.service.BookingService;
+import com.service.ReportService;
 import com.service.RoomService;
 import com.service.UserService;
+import com.view.BookingTable;
+import com.view.RoomTable;
+import com.view.UserTable;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Scanner;
 
 public class Main {
 
-    // 1. Initialize Lists (The "Database")
-    private static final List<Room> rooms = new ArrayList<>();
-    private static final List<User> users = new ArrayList<>();
-    private static final List<Booking> bookings = new ArrayList<>();
-
-    // 2. Initialize Services
-    private static final RoomService roomService = new RoomService();
-    private static final UserService userService = new UserService();
-    private static final BookingService bookingService = new BookingService();
+    // 1. Initialize Repositories (The "Database")
+    // Shared so availability search sees both room types and booked nights
+    private static final OccupancyIndex occupancy = new OccupancyIndex();
+    private static final RoomRepository rooms = new RoomRepository(occupancy);
+    private static final UserRepository users = new UserRepository();
+    // Run with -Dhotel.bookingStore=columnar to keep bookings in compact primitive columns
+    private static final BookingStore bookings = "columnar".equals(System.getProperty("hotel.bookingStore"))
+            ? new ColumnarBookingStore(occupancy)
+            : new BookingRepository(occupancy);
+
+    // 2. Optional persistence: run with -Dhotel.dataDir=<dir> to restore state on start and journal every change
+    private static final PersistenceManager persistence = openPersistence();
+    private static final Journal journal = persistence == null ? Journal.NONE : persistence.journal();
+
+    // 3. Initialize Services (sharing one set of metrics, exposed over JMX, and one event bus)
+    private static final BookingMetrics metrics = new BookingMetrics();
+    // Change events the bus holds before publishers wait for a slow subscriber
+    private static final int EVENT_BUS_CAPACITY = 1 << 14;
+    private static final EventBus events = new EventBus(EVENT_BUS_CAPACITY);
+    private static final RoomService roomService = new RoomService(journal, metrics, events);
+    private static final UserService userService = new UserService(journal, metrics, events);
+    private static final BookingService bookingService = new BookingService(journal, metrics, events);
+    private static final ReportService reportService = new ReportService();
+
+    // Listings are fetched and printed this many rows at a time
+    private static final int PAGE_SIZE = 500;
 
     // Date Formatter for dd/MM/yyyy inputs
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public static void main(String[] args) {
+        metrics.registerMBean("hotel");
+        // Run with -Dhotel.eventLog=<file> to append every change event to a file
+        EventLogWriter eventLog = openEventLog();
+
+        // --- STEP 0: Bulk import CSV files (run with -Dhotel.import=<dir>); imports bypass the journal ---
+        String importDir = System.getProperty("hotel.import");
+        if (importDir != null) {
+            new BulkImporter(rooms, users, bookings).importDirectory(Path.of(importDir));
+            if (persistence != null) {
+                persistence.snapshot();
+            }
+        }
+
+        // --- STEP 1: Run the Required Test Scenario (only on a fresh start) ---
+        if (rooms.isEmpty() && users.isEmpty()) {
+            System.out.println("🚀 STARTING AUTOMATED TEST SCENARIO...\n");
+            runTestScenario();
+            System.out.println("\n✅ TEST SCENARIO COMPLETE.\n");
+        } else {
+            System.out.println("💾 Restored " + rooms.size() + " rooms, " + users.size() + " users and "
+                    + bookings.size() + " bookings ("
+                    + (persistence == null ? 0 : persistence.restoredRecords()) + " journal records replayed).\n");
+        }
 
-        // --- STEP 1: Run the Required Test Scenario ---
-        System.out.println("🚀 STARTING AUTOMATED TEST SCENARIO...\n");
-        runTestScenario();
-        System.out.println("\n✅ TEST SCENARIO COMPLETE.\n");
+        // --- STEP 2: Serve HTTP (run with -Dhotel.httpPort=<port>) or start the interactive menu ---
+        String httpPort = System.getProperty("hotel.httpPort");
+        if (httpPort != null) {
+            serveHttp(Integer.parseInt(httpPort), eventLog);
+            return;
+        }
 
-        // --- STEP 2: Start Interactive Menu ---
         Scanner scanner = new Scanner(System.in);
         boolean running = true;
 
@@ -75,15 +135,15 @@ public class Main {
                         break;
 
                     case "4": // List Users
-                        userService.listAllUsers(users);
+                        printUsers();
                         break;
 
                     case "5": // List Rooms
-                        roomService.listAllRooms(rooms);
+                        printRooms();
                         break;
 
                     case "6": // List Bookings
-                        bookingService.listAllBookings(bookings);
+                        printBookings();
                         break;
 
                     case "0":
@@ -105,6 +165,72 @@ public class Main {
             }
         }
         scanner.close();
+        shutdown(eventLog);
+    }
+
+    // Serves until the process is stopped; in-flight requests get a few seconds to finish
+    private static void serveHttp(int port, EventLogWriter eventLog) {
+        HotelApiServer server;
+        try {
+            server = new HotelApiServer(new InetSocketAddress(port), rooms, users, bookings, roomService, userService, bookingService,
+                    reportService);
+        } catch (IOException e) {
+            System.out.println("❌ Cannot start HTTP API: " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            shutdown(eventLog);
+        }));
+        server.start();
+    }
+
+    // --- Helpers: Tables, streamed page by page ---
+    private static void printUsers() {
+        new UserTable(System.out).write(cursor -> userService.listUsers(users, cursor, PAGE_SIZE));
+    }
+
+    private static void printRooms() {
+        new RoomTable(System.out).write(cursor -> roomService.listRooms(rooms, cursor, PAGE_SIZE));
+    }
+
+    private static void printBookings() {
+        new BookingTable(System.out).write(cursor -> bookingService.listBookings(bookings, cursor, PAGE_SIZE));
+    }
+
+    // Holds stop expiring, then subscribers drain what was published before the log and the journal are closed
+    private static void shutdown(EventLogWriter eventLog) {
+        bookingService.close();
+        events.close();
+        if (eventLog != null) {
+            try {
+                eventLog.close();
+            } catch (IOException e) {
+                System.out.println("❌ Cannot close event log: " + e.getMessage());
+            }
+        }
+        if (persistence != null) {
+            persistence.close();
+        }
+    }
+
+    private static EventLogWriter openEventLog() {
+        String file = System.getProperty("hotel.eventLog");
+        if (file == null) return null;
+        try {
+            EventLogWriter eventLog = new EventLogWriter(Path.of(file));
+            events.subscribe("event-log", eventLog);
+            return eventLog;
+        } catch (IOException e) {
+            System.out.println("❌ Cannot open event log: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static PersistenceManager openPersistence() {
+        String dataDir = System.getProperty("hotel.dataDir");
+        if (dataDir == null) return null;
+        return PersistenceManager.open(Path.of(dataDir), JournalConfig.builder().build(), rooms, users, bookings);
     }
 
     // --- Helper Method: Run the Scenario defined in the prompt ---
@@ -120,10 +246,9 @@ public class Main {
             roomService.createRoom(rooms, 2, RoomType.JUNIOR, 2000.0);
             roomService.createRoom(rooms, 3, RoomType.MASTER, 3000.0);
 
-            // Create Users (Manually to match "ID 1" and "ID 2" requirement)
-            users.add(new User("1", 5000));
-            users.add(new User("2", 10000));
-            System.out.println("✅ Users 1 and 2 created.");
+            // Create Users (With fixed IDs to match "ID 1" and "ID 2" requirement)
+            userService.createUser(users, "1", 5000);
+            userService.createUser(users, "2", 10000);
 
             // 2. Execute Transactions
             System.out.println("\n--- 2. Executing Transactions ---");
@@ -154,9 +279,9 @@ public class Main {
 
             // ● Print End Result
             System.out.println("\n--- 4. End Results ---");
-            userService.listAllUsers(users);
-            roomService.listAllRooms(rooms);
-            bookingService.listAllBookings(bookings);
+            printUsers();
+            printRooms();
+            printBookings();
 
         } catch (Exception e) {
             System.out.println("CRITICAL ERROR IN SCENARIO: " + e.getMessage());
@@ -178,20 +303,25 @@ public class Main {
         LocalDate out = LocalDate.parse(scanner.nextLine(), DATE_FORMATTER);
 
         // Find entities
-        User u = users.stream().filter(user -> user.getId().equals(uId)).findFirst()
-                .orElseThrow(() -> new InvalidInputException("User not found"));
+        User u = userService.findUserById(users, uId)
+                .orElseThrow(() -> notFound("User not found"));
         Room r = roomService.findRoom(rooms, rNum)
-                .orElseThrow(() -> new InvalidInputException("Room not found"));
+                .orElseThrow(() -> notFound("Room not found"));
 
         // Execute
         bookingService.createBooking(bookings, u, r, in, out);
     }
 
+    private static InvalidInputException notFound(String message) {
+        metrics.recordRejection(RejectionReason.NOT_FOUND);
+        return new InvalidInputException(RejectionReason.NOT_FOUND, message);
+    }
+
     // --- Helper: Shortcut for Scenario Bookings ---
     private static void attemptBooking(String userId, int roomNum, String inDate, String outDate) {
         System.out.print("👉 Attempt: User " + userId + " booking Room " + roomNum + " (" + inDate + " to " + outDate + ")... ");
         try {
-            User u = users.stream().filter(user -> user.getId().equals(userId)).findFirst().orElseThrow();
+            User u = userService.findUserById(users, userId).orElseThrow();
             Room r = roomService.findRoom(rooms, roomNum).orElseThrow();
             LocalDate in = LocalDate.parse(inDate, DATE_FORMATTER);
             LocalDate out = LocalDate.parse(outDate, DATE_FORMATTER);
@@ -0,0 +1,528 @@
+package com.api;
+
+import com.dto.Page;
+import com.dto.RevenueReport;
+import com.entities.Booking;
+import com.entities.Hold;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.RejectionReason;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.pricing.PricingEngine;
+import com.repository.BookingStore;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+import com.service.BookingService;
+import com.service.ReportService;
+import com.service.RoomService;
+import com.service.UserService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * HTTP/JSON front end over the services, on the JDK's built-in server with one virtual thread per
+ * request, so requests blocked on a room lock or a journal fsync cost no platform thread.
+ * <pre>
+ * POST  /users                 {"balance": 5000, "id": "optional"}    create a user
+ * GET   /users[/{id}]                                                 page of users (latest first) / one user
+ * PUT   /rooms/{number}        {"type": "STANDARD", "price": 1000}    create or update a room
+ * GET   /rooms[/{number}]                                             page of rooms (latest first) / one room
+ * POST  /bookings              {"userId", "roomNumber", "checkIn", "checkOut"} or {"holdId"} to book a hold
+ * GET   /bookings[/{id}]                                              page of bookings (latest first) / one booking
+ * PATCH /bookings/{id}         {"checkIn", "checkOut"}                move a booking, charging or refunding the difference
+ * DELETE /bookings/{id}                                               cancel a booking and refund it
+ * POST  /holds                 {"userId", "roomNumber", "checkIn", "checkOut"}   keep dates aside, unpaid, for a while
+ * DELETE /holds/{id}                                                  give a hold's dates back
+ * GET   /availability?type=STANDARD&checkIn=2026-07-01&checkOut=2026-07-03   free rooms with the stay's total price
+ * GET   /reports?month=2026-07                                        revenue and occupancy per room type
+ * GET   /reports?from=2026-07-01&to=2026-07-15                        the same over any range of nights
+ * </pre>
+ * Listings take {@code ?limit=50&after=<nextCursor of the previous page>} and answer
+ * {@code {"items": [...], "nextCursor": "..."}}, the cursor being null on the last page.
+ * Dates are ISO {@code yyyy-MM-dd}. Failures are answered as
+ * {@code {"error": {"code": "OVERLAP", "message": "..."}}} with the status from {@link #statusOf}.
+ * A booking POST may carry an {@code Idempotency-Key} header; retries with the same key get the
+ * first attempt's answer instead of booking again.
+ */
+public class HotelApiServer {
+
+    private static final int BACKLOG = 4096;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final RoomRepository rooms;
+    private final UserRepository users;
+    private final BookingStore bookings;
+    private final RoomService roomService;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final ReportService reportService;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HotelApiServer(InetSocketAddress address, RoomRepository rooms, UserRepository users, BookingStore bookings,
+                          RoomService roomService, UserService userService, BookingService bookingService,
+                          ReportService reportService) throws IOException {
+        this.rooms = rooms;
+        this.users = users;
+        this.bookings = bookings;
+        this.roomService = roomService;
+        this.userService = userService;
+        this.bookingService = bookingService;
+        this.reportService = reportService;
+
+        server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/users", exchange -> handle(exchange, this::users));
+        server.createContext("/rooms", exchange -> handle(exchange, this::rooms));
+        server.createContext("/bookings", exchange -> handle(exchange, this::bookings));
+        server.createContext("/holds", exchange -> handle(exchange, this::holds));
+        server.createContext("/availability", exchange -> handle(exchange, this::availability));
+        server.createContext("/reports", exchange -> handle(exchange, this::reports));
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("🌐 HTTP API listening on port " + port());
+    }
+
+    /**
+     * Stops accepting connections and waits up to {@code delaySeconds} for in-flight requests.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * HTTP status for a rejected request.
+     */
+    public static int statusOf(RejectionReason reason) {
+        return switch (reason) {
+            case INVALID_INPUT, INVALID_DATES -> 400;
+            case NOT_FOUND -> 404;
+            case OVERLAP, CANCELLED, BATCH_ABORTED -> 409;
+            case INSUFFICIENT_BALANCE -> 422;
+        };
+    }
+
+    // --- Endpoints ---
+
+    private Response users(Request request) throws IOException {
+        String id = request.pathParam();
+        return switch (request.method()) {
+            case "GET" -> {
+                if (id != null) {
+                    yield Response.ok(view(userService.findUserById(users, id)
+                            .orElseThrow(() -> notFound("User " + id + " not found."))));
+                }
+                yield Response.ok(view(userService.listUsers(users, request.cursor(), request.limit()), HotelApiServer::view));
+            }
+            case "POST" -> {
+                if (id != null) throw Request.methodNotAllowed();
+                Map<String, Object> body = request.body();
+                String newId = optionalString(body, "id");
+                if (newId == null) newId = UUID.randomUUID().toString();
+                userService.createUser(users, newId, requiredInt(body, "balance"));
+                yield Response.created(view(users.findById(newId).orElseThrow()));
+            }
+            default -> throw Request.methodNotAllowed();
+        };
+    }
+
+    private Response rooms(Request request) throws IOException {
+        String number = request.pathParam();
+        return switch (request.method()) {
+            case "GET" -> {
+                if (number != null) {
+                    int roomNumber = parseInt("roomNumber", number);
+                    yield Response.ok(view(roomService.findRoom(rooms, roomNumber)
+                            .orElseThrow(() -> notFound("Room " + roomNumber + " not found."))));
+                }
+                yield Response.ok(view(roomService.listRooms(rooms, request.cursor(), request.limit()), HotelApiServer::view));
+            }
+            case "PUT" -> {
+                if (number == null) throw Request.methodNotAllowed();
+                int roomNumber = parseInt("roomNumber", number);
+                Map<String, Object> body = request.body();
+                RoomType type = parseRoomType(requiredString(body, "type"));
+                double price = requiredNumber(body, "price");
+                boolean exists = roomService.findRoom(rooms, roomNumber).isPresent();
+                if (exists) {
+                    roomService.updateRoom(rooms, roomNumber, type, price);
+                } else {
+                    roomService.createRoom(rooms, roomNumber, type, price);
+                }
+                Object room = view(rooms.findByNumber(roomNumber).orElseThrow());
+                yield exists ? Response.ok(room) : Response.created(room);
+            }
+            default -> throw Request.methodNotAllowed();
+        };
+    }
+
+    private Response bookings(Request request) throws IOException {
+        String id = request.pathParam();
+        return switch (request.method()) {
+            case "GET" -> {
+                if (id != null) yield Response.ok(view(findBooking(parseInt("bookingId", id))));
+                yield Response.ok(view(bookingService.listBookings(bookings, request.cursor(), request.limit()), HotelApiServer::view));
+            }
+            case "POST" -> {
+                if (id != null) throw Request.methodNotAllowed();
+                Map<String, Object> body = request.body();
+                if (body.containsKey("holdId")) {
+                    yield Response.created(view(bookingService.createBooking(bookings, requiredInt(body, "holdId"))));
+                }
+                String userId = requiredString(body, "userId");
+                int roomNumber = requiredInt(body, "roomNumber");
+                LocalDate checkIn = requiredDate(body, "checkIn");
+                LocalDate checkOut = requiredDate(body, "checkOut");
+                User user = userService.findUserById(users, userId)
+                        .orElseThrow(() -> notFound("User " + userId + " not found."));
+                Room room = roomService.findRoom(rooms, roomNumber)
+                        .orElseThrow(() -> notFound("Room " + roomNumber + " not found."));
+                String idempotencyKey = request.exchange().getRequestHeaders().getFirst("Idempotency-Key");
+                yield Response.created(view(bookingService.createBooking(bookings, user, room, checkIn, checkOut, idempotencyKey)));
+            }
+            case "PATCH" -> {
+                if (id == null) throw Request.methodNotAllowed();
+                int bookingId = parseInt("bookingId", id);
+                Map<String, Object> body = request.body();
+                bookingService.updateBookingDates(bookings, bookingId, requiredDate(body, "checkIn"), requiredDate(body, "checkOut"));
+                yield Response.ok(view(findBooking(bookingId)));
+            }
+            case "DELETE" -> {
+                if (id == null) throw Request.methodNotAllowed();
+                int bookingId = parseInt("bookingId", id);
+                bookingService.cancelBooking(bookings, bookingId);
+                yield Response.ok(view(findBooking(bookingId)));
+            }
+            default -> throw Request.methodNotAllowed();
+        };
+    }
+
+    private Response holds(Request request) throws IOException {
+        String id = request.pathParam();
+        return switch (request.method()) {
+            case "POST" -> {
+                if (id != null) throw Request.methodNotAllowed();
+                Map<String, Object> body = request.body();
+                String userId = requiredString(body, "userId");
+                int roomNumber = requiredInt(body, "roomNumber");
+                LocalDate checkIn = requiredDate(body, "checkIn");
+                LocalDate checkOut = requiredDate(body, "checkOut");
+                User user = userService.findUserById(users, userId)
+                        .orElseThrow(() -> notFound("User " + userId + " not found."));
+                Room room = roomService.findRoom(rooms, roomNumber)
+                        .orElseThrow(() -> notFound("Room " + roomNumber + " not found."));
+                yield Response.created(view(bookingService.placeHold(bookings, user, room, checkIn, checkOut)));
+            }
+            case "DELETE" -> {
+                if (id == null) throw Request.methodNotAllowed();
+                yield Response.ok(view(bookingService.releaseHold(bookings, parseInt("holdId", id))));
+            }
+            default -> throw Request.methodNotAllowed();
+        };
+    }
+
+    private Response availability(Request request) throws IOException {
+        if (!request.method().equals("GET") || request.pathParam() != null) throw Request.methodNotAllowed();
+        Map<String, String> query = request.query();
+        RoomType type = parseRoomType(requiredString(query, "type"));
+        LocalDate checkIn = requiredDate(query, "checkIn");
+        LocalDate checkOut = requiredDate(query, "checkOut");
+        PricingEngine pricing = bookingService.pricing();
+        return Response.ok(bookingService.findAvailableRooms(bookings, rooms, type, checkIn, checkOut).stream()
+                .map(room -> {
+                    Map<String, Object> view = view(room);
+                    view.put("totalPrice", pricing.charge(room, checkIn, checkOut));
+                    return view;
+                })
+                .toList());
+    }
+
+    private Response reports(Request request) {
+        if (!request.method().equals("GET") || request.pathParam() != null) throw Request.methodNotAllowed();
+        Map<String, String> query = request.query();
+        String month = query.get("month");
+        if (month != null) {
+            try {
+                return Response.ok(reportService.monthlyReport(bookings, YearMonth.parse(month)).stream()
+                        .map(HotelApiServer::view)
+                        .toList());
+            } catch (DateTimeParseException e) {
+                throw new InvalidInputException("'month' must be a month (yyyy-MM).");
+            }
+        }
+        return Response.ok(reportService.rollup(bookings, requiredDate(query, "from"), requiredDate(query, "to")).stream()
+                .map(HotelApiServer::view)
+                .toList());
+    }
+
+    private Booking findBooking(int bookingId) {
+        return bookingService.findBooking(bookings, bookingId)
+                .orElseThrow(() -> notFound("Booking " + bookingId + " not found."));
+    }
+
+    private InvalidInputException notFound(String message) {
+        bookingService.metrics().recordRejection(RejectionReason.NOT_FOUND);
+        return new InvalidInputException(RejectionReason.NOT_FOUND, message);
+    }
+
+    // --- Exchange handling ---
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Response serve(Request request) throws IOException;
+    }
+
+    private record Response(int status, Object body) {
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        static Response created(Object body) {
+            return new Response(201, body);
+        }
+
+        static Response error(int status, String code, String message) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("code", code);
+            error.put("message", message);
+            return new Response(status, Map.of("error", error));
+        }
+    }
+
+    // Thrown for routing failures that are not input errors
+    private static final class RouteException extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final String code;
+
+        RouteException(int status, String code, String message) {
+            super(message, null, false, false);
+            this.status = status;
+            this.code = code;
+        }
+    }
+
+    private record Request(HttpExchange exchange, String pathParam) {
+        String method() {
+            return exchange.getRequestMethod();
+        }
+
+        Map<String, Object> body() throws IOException {
+            try (InputStream in = exchange.getRequestBody()) {
+                return Json.parseObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        Map<String, String> query() {
+            Map<String, String> params = new HashMap<>();
+            String raw = exchange.getRequestURI().getRawQuery();
+            if (raw == null) return params;
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) continue;
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+            return params;
+        }
+
+        String cursor() {
+            return query().get("after");
+        }
+
+        int limit() {
+            String limit = query().get("limit");
+            return limit == null ? DEFAULT_PAGE_SIZE : parseInt("limit", limit);
+        }
+
+        static RouteException methodNotAllowed() {
+            return new RouteException(405, "METHOD_NOT_ALLOWED", "Method not allowed for this path.");
+        }
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) {
+        try (exchange) {
+            Response response;
+            try {
+                response = endpoint.serve(new Request(exchange, pathParam(exchange)));
+            } catch (InvalidInputException e) {
+                response = Response.error(statusOf(e.getReason()), e.getReason().name(), e.getMessage());
+            } catch (RouteException e) {
+                response = Response.error(e.status, e.code, e.getMessage());
+            } catch (RuntimeException e) {
+                System.out.println("❌ Unexpected Error: " + e.getMessage());
+                response = Response.error(500, "INTERNAL_ERROR", "Unexpected error.");
+            }
+            send(exchange, response);
+        } catch (IOException e) {
+            // Client went away; nothing left to answer
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = Json.write(response.body()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // "/bookings/42" -> "42", "/bookings" -> null; anything deeper is not a route
+    private static String pathParam(HttpExchange exchange) {
+        String context = exchange.getHttpContext().getPath();
+        String rest = exchange.getRequestURI().getPath().substring(context.length());
+        if (rest.isEmpty() || rest.equals("/")) return null;
+        if (rest.charAt(0) != '/' || rest.indexOf('/', 1) >= 0) {
+            throw new RouteException(404, "NOT_FOUND", "No such resource.");
+        }
+        return URLDecoder.decode(rest.substring(1), StandardCharsets.UTF_8);
+    }
+
+    // --- Views ---
+
+    private static Map<String, Object> view(User user) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", user.getId());
+        view.put("balance", user.getBalance());
+        return view;
+    }
+
+    private static Map<String, Object> view(Room room) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("roomNumber", room.getRoomNumber());
+        view.put("type", room.getRoomType());
+        view.put("price", room.getPrice());
+        return view;
+    }
+
+    private static Map<String, Object> view(Booking booking) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("bookingId", booking.getBookingId());
+        view.put("userId", booking.getUser().getId());
+        view.put("roomNumber", booking.getRoomNumber().getRoomNumber());
+        view.put("checkIn", booking.getCheckIn());
+        view.put("checkOut", booking.getCheckOut());
+        view.put("pricePerNight", booking.getBookedPricePerNight());
+        view.put("totalCost", booking.getTotalCost());
+        view.put("status", booking.getStatus());
+        return view;
+    }
+
+    private static Map<String, Object> view(Hold hold) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("holdId", hold.getHoldId());
+        view.put("userId", hold.getUser().getId());
+        view.put("roomNumber", hold.getRoom().getRoomNumber());
+        view.put("checkIn", hold.getCheckIn());
+        view.put("checkOut", hold.getCheckOut());
+        view.put("totalCost", hold.getTotalCost());
+        view.put("expiresAt", hold.getExpiresAt());
+        return view;
+    }
+
+    private static Map<String, Object> view(RevenueReport report) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("roomType", report.getRoomType());
+        view.put("from", report.getFrom());
+        view.put("to", report.getTo());
+        view.put("bookedNights", report.getBookedNights());
+        view.put("availableNights", report.getAvailableNights());
+        view.put("occupancyRate", report.getOccupancyRate());
+        view.put("revenue", report.getRevenue());
+        view.put("averageDailyRate", report.getAverageDailyRate());
+        return view;
+    }
+
+    private static <T> Map<String, Object> view(Page<T> page, Function<T, Map<String, Object>> itemView) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("items", page.getItems().stream().map(itemView).toList());
+        view.put("nextCursor", page.getNextCursor());
+        return view;
+    }
+
+    // --- Field parsing ---
+
+    private static String optionalString(Map<String, ?> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null) return null;
+        if (!(value instanceof String s)) throw new InvalidInputException("Field '" + name + "' must be a string.");
+        return s;
+    }
+
+    private static String requiredString(Map<String, ?> fields, String name) {
+        String value = optionalString(fields, name);
+        if (value == null || value.isBlank()) throw new InvalidInputException("Field '" + name + "' is required.");
+        return value;
+    }
+
+    private static double requiredNumber(Map<String, ?> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null) throw new InvalidInputException("Field '" + name + "' is required.");
+        if (!(value instanceof Number n)) throw new InvalidInputException("Field '" + name + "' must be a number.");
+        return n.doubleValue();
+    }
+
+    private static int requiredInt(Map<String, ?> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null) throw new InvalidInputException("Field '" + name + "' is required.");
+        if (!(value instanceof Long n) || n != n.intValue()) {
+            throw new InvalidInputException("Field '" + name + "' must be an integer.");
+        }
+        return n.intValue();
+    }
+
+    private static LocalDate requiredDate(Map<String, ?> fields, String name) {
+        String value = requiredString(fields, name);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Field '" + name + "' must be a date (yyyy-MM-dd).");
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("'" + name + "' must be an integer.");
+        }
+    }
+
+    private static RoomType parseRoomType(String value) {
+        try {
+            return RoomType.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Unknown room type '" + value + "'.");
+        }
+    }
+}
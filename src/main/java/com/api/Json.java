@@ -0,0 +1,253 @@
+package com.api;
+
+import com.exceptions.InvalidInputException;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON codec for the API's small request and response bodies. Objects map to
+ * {@link LinkedHashMap}s, arrays to {@link List}s, integral numbers to {@link Long} and other
+ * numbers to {@link Double}. Malformed input is rejected with an {@link InvalidInputException}.
+ */
+public final class Json {
+
+    private final String text;
+    private int pos;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    public static Object parse(String text) {
+        Json parser = new Json(text);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) throw parser.error("Unexpected trailing content");
+        return value;
+    }
+
+    /**
+     * Parses a body that must be a JSON object.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) throw new InvalidInputException("Request body must be a JSON object.");
+        return (Map<String, Object>) value;
+    }
+
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder(1024);
+        write(value, out);
+        return out.toString();
+    }
+
+    public static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence || value instanceof Enum || value instanceof Temporal) {
+            writeString(value.toString(), out);
+        } else if (value instanceof Integer || value instanceof Long) {
+            out.append(((Number) value).longValue());
+        } else if (value instanceof Number n) {
+            out.append(n.doubleValue());
+        } else if (value instanceof Boolean b) {
+            out.append(b.booleanValue());
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                writeString(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) out.append(',');
+                first = false;
+                write(item, out);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("Cannot write " + value.getClass().getName() + " as JSON.");
+        }
+    }
+
+    private static void writeString(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private Object readValue() {
+        if (pos >= text.length()) throw error("Unexpected end of input");
+        char c = text.charAt(pos);
+        return switch (c) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield readNumber();
+                throw error("Unexpected character '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') throw error("Expected a field name");
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            object.put(name, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+                continue;
+            }
+            expect('}');
+            return object;
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return array;
+        }
+        while (true) {
+            skipWhitespace();
+            array.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+                continue;
+            }
+            expect(']');
+            return array;
+        }
+    }
+
+    private String readString() {
+        pos++;
+        StringBuilder s = new StringBuilder();
+        while (true) {
+            if (pos >= text.length()) throw error("Unterminated string");
+            char c = text.charAt(pos++);
+            if (c == '"') return s.toString();
+            if (c != '\\') {
+                s.append(c);
+                continue;
+            }
+            if (pos >= text.length()) throw error("Unterminated escape");
+            char e = text.charAt(pos++);
+            switch (e) {
+                case '"', '\\', '/' -> s.append(e);
+                case 'b' -> s.append('\b');
+                case 'f' -> s.append('\f');
+                case 'n' -> s.append('\n');
+                case 'r' -> s.append('\r');
+                case 't' -> s.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) throw error("Bad unicode escape");
+                    try {
+                        s.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                    } catch (NumberFormatException ex) {
+                        throw error("Bad unicode escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw error("Bad escape '\\" + e + "'");
+            }
+        }
+    }
+
+    private Number readNumber() {
+        int start = pos;
+        boolean integral = true;
+        if (peek() == '-') pos++;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                pos++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                integral = false;
+                pos++;
+            } else {
+                break;
+            }
+        }
+        String number = text.substring(start, pos);
+        try {
+            // Not a ternary: that would promote the long to double
+            if (integral) return Long.parseLong(number);
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw error("Bad number '" + number + "'");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, pos)) throw error("Unexpected token");
+        pos += literal.length();
+        return value;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) throw error("Expected '" + c + "'");
+        pos++;
+    }
+
+    private char peek() {
+        return pos < text.length() ? text.charAt(pos) : '\0';
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+    }
+
+    private InvalidInputException error(String message) {
+        return new InvalidInputException("Malformed JSON: " + message + " at offset " + pos + ".");
+    }
+}
@@ -0,0 +1,104 @@
+package com.bulk;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.RejectionReason;
+import com.exceptions.InvalidInputException;
+import com.repository.BookingStore;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Seeds the repositories from CSV files, parsed in parallel chunks and added through the bulk
+ * {@code addAll} paths: one validation pass and one index build per file instead of a lookup,
+ * lock round trip and console line per row. Each file is all-or-nothing.
+ * <pre>
+ * rooms.csv     roomNumber,type,price
+ * users.csv     id,balance
+ * bookings.csv  bookingId,userId,roomNumber,checkIn,checkOut,pricePerNight,totalCost   (dates yyyy-MM-dd)
+ * </pre>
+ * Bookings are history: balances are taken from users.csv as they are, nobody is debited.
+ * Imports are not journaled; take a snapshot afterwards to make them durable.
+ */
+public class BulkImporter {
+
+    public static final String ROOMS_FILE = "rooms.csv";
+    public static final String USERS_FILE = "users.csv";
+    public static final String BOOKINGS_FILE = "bookings.csv";
+
+    private final RoomRepository rooms;
+    private final UserRepository users;
+    private final BookingStore bookings;
+    private final CsvChunkReader reader;
+
+    public BulkImporter(RoomRepository rooms, UserRepository users, BookingStore bookings) {
+        this(rooms, users, bookings, ForkJoinPool.commonPool());
+    }
+
+    public BulkImporter(RoomRepository rooms, UserRepository users, BookingStore bookings, ForkJoinPool pool) {
+        this.rooms = rooms;
+        this.users = users;
+        this.bookings = bookings;
+        this.reader = new CsvChunkReader(pool);
+    }
+
+    /**
+     * Imports whichever of rooms.csv, users.csv and bookings.csv exist in {@code directory}, in that order.
+     */
+    public void importDirectory(Path directory) {
+        long start = System.nanoTime();
+        int roomCount = Files.exists(directory.resolve(ROOMS_FILE)) ? importRooms(directory.resolve(ROOMS_FILE)) : 0;
+        int userCount = Files.exists(directory.resolve(USERS_FILE)) ? importUsers(directory.resolve(USERS_FILE)) : 0;
+        int bookingCount = Files.exists(directory.resolve(BOOKINGS_FILE)) ? importBookings(directory.resolve(BOOKINGS_FILE)) : 0;
+        System.out.println("✅ Imported " + roomCount + " rooms, " + userCount + " users and " + bookingCount
+                + " bookings in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    }
+
+    public int importRooms(Path file) {
+        List<Room> parsed = reader.read(file, line -> new Room(line.nextInt(), line.nextRoomType(), line.nextDouble()));
+        rooms.addAll(parsed);
+        return parsed.size();
+    }
+
+    public int importUsers(Path file) {
+        List<User> parsed = reader.read(file, line -> {
+            String id = line.nextString();
+            if (id.getBytes(StandardCharsets.UTF_8).length > User.MAX_ID_BYTES) {
+                throw line.error("User ID longer than " + User.MAX_ID_BYTES + " bytes");
+            }
+            return new User(id, line.nextInt());
+        });
+        users.addAll(parsed);
+        return parsed.size();
+    }
+
+    /**
+     * Imports bookings of rooms and users that are already present.
+     */
+    public int importBookings(Path file) {
+        List<Booking> parsed = reader.read(file, line -> {
+            int bookingId = line.nextInt();
+            String userId = line.nextString();
+            int roomNumber = line.nextInt();
+            LocalDate checkIn = line.nextDate();
+            LocalDate checkOut = line.nextDate();
+            double pricePerNight = line.nextDouble();
+            int totalCost = line.nextInt();
+            User user = users.findById(userId).orElseThrow(() ->
+                    new InvalidInputException(RejectionReason.NOT_FOUND, line.error("Unknown user '" + userId + "'").getMessage()));
+            Room room = rooms.findByNumber(roomNumber).orElseThrow(() ->
+                    new InvalidInputException(RejectionReason.NOT_FOUND, line.error("Unknown room " + roomNumber).getMessage()));
+            return new Booking(bookingId, user, room, checkIn, checkOut, pricePerNight, totalCost);
+        });
+        bookings.addAll(parsed);
+        return parsed.size();
+    }
+}
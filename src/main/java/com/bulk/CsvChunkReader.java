@@ -0,0 +1,126 @@
+package com.bulk;
+
+import com.exceptions.InvalidInputException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses a CSV file in parallel: the file is memory-mapped, cut into chunks at line boundaries,
+ * and the chunks are parsed by fork-join tasks whose results are concatenated in file order.
+ * The first line is a header and is skipped; blank lines are ignored.
+ */
+final class CsvChunkReader {
+
+    private static final int MIN_CHUNK = 1 << 20;
+
+    @FunctionalInterface
+    interface LineParser<T> {
+        T parse(CsvLine line);
+    }
+
+    private final ForkJoinPool pool;
+
+    CsvChunkReader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    <T> List<T> read(Path file, LineParser<T> parser) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new InvalidInputException(file + " is over 2 GB; split it into several files.");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int size = buffer.limit();
+        int chunkSize = Math.max(MIN_CHUNK, size / (pool.getParallelism() * 4));
+        List<int[]> chunks = new ArrayList<>();
+        int start = nextLine(buffer, 0);
+        while (start < size) {
+            int end = nextLine(buffer, Math.min(size, start + chunkSize));
+            chunks.add(new int[]{start, end});
+            start = end;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T>[] parts = (List<T>[]) new List<?>[chunks.size()];
+        pool.invoke(new ParseTask<>(buffer, file.getFileName().toString(), chunks, parts, parser, 0, chunks.size()));
+
+        int total = 0;
+        for (List<T> part : parts) total += part.size();
+        List<T> rows = new ArrayList<>(total);
+        for (List<T> part : parts) rows.addAll(part);
+        return rows;
+    }
+
+    // Index just past the next '\n' at or after `from`, or the end of the buffer
+    private static int nextLine(ByteBuffer buffer, int from) {
+        int size = buffer.limit();
+        for (int i = from; i < size; i++) {
+            if (buffer.get(i) == '\n') return i + 1;
+        }
+        return size;
+    }
+
+    // Never serialized: ForkJoinTask is Serializable, which tasks of a running pool do not need
+    @SuppressWarnings("serial")
+    private static final class ParseTask<T> extends RecursiveAction {
+        private final ByteBuffer buffer;
+        private final String file;
+        private final List<int[]> chunks;
+        private final List<T>[] parts;
+        private final LineParser<T> parser;
+        private final int from;
+        private final int to;
+
+        ParseTask(ByteBuffer buffer, String file, List<int[]> chunks, List<T>[] parts, LineParser<T> parser, int from, int to) {
+            this.buffer = buffer;
+            this.file = file;
+            this.chunks = chunks;
+            this.parts = parts;
+            this.parser = parser;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParseTask<>(buffer, file, chunks, parts, parser, from, mid),
+                        new ParseTask<>(buffer, file, chunks, parts, parser, mid, to));
+                return;
+            }
+            if (to == from) return;
+            int[] chunk = chunks.get(from);
+            List<T> rows = new ArrayList<>();
+            CsvLine line = new CsvLine(buffer, file);
+            int start = chunk[0];
+            while (start < chunk[1]) {
+                int end = start;
+                while (end < chunk[1] && buffer.get(end) != '\n') end++;
+                int next = end + 1;
+                if (end > start && buffer.get(end - 1) == '\r') end--;
+                if (end > start) {
+                    line.reset(start, end);
+                    rows.add(parser.parse(line));
+                }
+                start = next;
+            }
+            parts[from] = rows;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bulk;
+
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Reads the comma-separated fields of one line straight from the file buffer, parsing numbers and
+ * dates from the bytes without building a String per field. Plain CSV only: no quoting or escapes.
+ */
+final class CsvLine {
+
+    private final ByteBuffer buffer;
+    private final String file;
+    private int lineStart;
+    private int pos;
+    private int end;
+
+    CsvLine(ByteBuffer buffer, String file) {
+        this.buffer = buffer;
+        this.file = file;
+    }
+
+    void reset(int start, int end) {
+        this.lineStart = start;
+        this.pos = start;
+        this.end = end;
+    }
+
+    int nextInt() {
+        long value = nextLong();
+        if (value != (int) value) throw error("Number out of range");
+        return (int) value;
+    }
+
+    long nextLong() {
+        boolean negative = pos < end && buffer.get(pos) == '-';
+        if (negative) pos++;
+        int digits = 0;
+        long value = 0;
+        while (pos < end) {
+            byte b = buffer.get(pos);
+            if (b == ',') break;
+            if (b < '0' || b > '9' || ++digits > 18) throw error("Expected an integer");
+            value = value * 10 + (b - '0');
+            pos++;
+        }
+        if (digits == 0) throw error("Expected an integer");
+        skipSeparator();
+        return negative ? -value : value;
+    }
+
+    double nextDouble() {
+        String token = nextString();
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw error("Expected a number");
+        }
+    }
+
+    // yyyy-MM-dd
+    LocalDate nextDate() {
+        int start = pos;
+        int year = digits(4);
+        expect('-');
+        int month = digits(2);
+        expect('-');
+        int day = digits(2);
+        if (pos < end && buffer.get(pos) != ',') {
+            pos = start;
+            throw error("Expected a date (yyyy-MM-dd)");
+        }
+        skipSeparator();
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw error("Invalid date");
+        }
+    }
+
+    RoomType nextRoomType() {
+        String name = nextString();
+        try {
+            return RoomType.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw error("Unknown room type '" + name + "'");
+        }
+    }
+
+    String nextString() {
+        int start = pos;
+        while (pos < end && buffer.get(pos) != ',') pos++;
+        byte[] bytes = new byte[pos - start];
+        buffer.get(start, bytes);
+        skipSeparator();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    InvalidInputException error(String message) {
+        return new InvalidInputException(file + " at byte " + lineStart + ": " + message + ".");
+    }
+
+    private int digits(int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            byte b = pos < end ? buffer.get(pos) : 0;
+            if (b < '0' || b > '9') throw error("Expected a date (yyyy-MM-dd)");
+            value = value * 10 + (b - '0');
+            pos++;
+        }
+        return value;
+    }
+
+    private void expect(char c) {
+        if (pos >= end || buffer.get(pos) != c) throw error("Expected a date (yyyy-MM-dd)");
+        pos++;
+    }
+
+    private void skipSeparator() {
+        if (pos < end) pos++;
+    }
+}
@@ -0,0 +1,155 @@
+package com.bulk;
+
+import com.dto.BookingRequest;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible synthetic load: a seeded stream of timed booking attempts following a
+ * {@link TrafficProfile}, and CSV datasets of the same shape for the {@link BulkImporter}.
+ * Not thread-safe; give each driving thread its own generator (e.g. with different seeds).
+ */
+public class TrafficGenerator {
+
+    /**
+     * A booking attempt due {@code offsetNanos} after the start of the run.
+     */
+    public record Arrival(long offsetNanos, BookingRequest request) {
+    }
+
+    private final TrafficProfile profile;
+    private final SplittableRandom random;
+    private final RoomType[] types;
+    private final double[] cumulativeWeights;
+    private final Map<RoomType, Room[]> roomsByType = new EnumMap<>(RoomType.class);
+    private final User[] users;
+    private double clockNanos;
+
+    public TrafficGenerator(TrafficProfile profile, List<Room> rooms, List<User> users) {
+        if (rooms.isEmpty() || users.isEmpty()) {
+            throw new InvalidInputException("Traffic needs at least one room and one user.");
+        }
+        this.profile = profile;
+        this.random = new SplittableRandom(profile.getSeed());
+        this.users = users.toArray(new User[0]);
+
+        Map<RoomType, List<Room>> grouped = new EnumMap<>(RoomType.class);
+        for (Room room : rooms) {
+            grouped.computeIfAbsent(room.getRoomType(), k -> new ArrayList<>()).add(room);
+        }
+        // Only types that have rooms can be asked for
+        grouped.forEach((type, list) -> roomsByType.put(type, list.toArray(new Room[0])));
+        this.types = roomsByType.keySet().stream()
+                .filter(type -> profile.getRoomTypeMix().getOrDefault(type, 0.0) > 0)
+                .toArray(RoomType[]::new);
+        if (types.length == 0) {
+            throw new InvalidInputException("The room type mix does not match any room.");
+        }
+        this.cumulativeWeights = cumulative(types, profile.getRoomTypeMix());
+    }
+
+    /**
+     * The next booking attempt; offsets grow with exponentially distributed gaps.
+     */
+    public Arrival next() {
+        clockNanos += -Math.log(1 - random.nextDouble()) / profile.getArrivalsPerSecond() * 1e9;
+        Room[] candidates = roomsByType.get(pick(types, cumulativeWeights, random));
+        Room room = candidates[random.nextInt(candidates.length)];
+        User user = users[random.nextInt(users.length)];
+        LocalDate checkIn = profile.getFirstNight().plusDays(random.nextInt(profile.getBookingHorizonDays()));
+        LocalDate checkOut = checkIn.plusDays(stayNights(profile, random));
+        return new Arrival((long) clockNanos, new BookingRequest(user, room, checkIn, checkOut));
+    }
+
+    /**
+     * Writes rooms.csv, users.csv and bookings.csv into {@code directory}: room types follow the mix,
+     * every user starts with {@code balance}, and each room gets {@code bookingsPerRoom} consecutive
+     * stays separated by gaps drawn like stay lengths, so no two bookings overlap.
+     */
+    public static void writeDataset(Path directory, TrafficProfile profile, int roomCount, int userCount,
+                                    int bookingsPerRoom, int balance) {
+        SplittableRandom random = new SplittableRandom(profile.getSeed());
+        RoomType[] types = RoomType.values();
+        double[] weights = cumulative(types, profile.getRoomTypeMix());
+        try {
+            Files.createDirectories(directory);
+            RoomType[] roomTypes = new RoomType[roomCount + 1];
+            try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(BulkImporter.ROOMS_FILE))) {
+                out.write("roomNumber,type,price\n");
+                for (int number = 1; number <= roomCount; number++) {
+                    RoomType type = pick(types, weights, random);
+                    roomTypes[number] = type;
+                    out.write(number + "," + type + "," + priceOf(type) + "\n");
+                }
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(BulkImporter.USERS_FILE))) {
+                out.write("id,balance\n");
+                for (int i = 0; i < userCount; i++) {
+                    out.write("user-" + i + "," + balance + "\n");
+                }
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(BulkImporter.BOOKINGS_FILE))) {
+                out.write("bookingId,userId,roomNumber,checkIn,checkOut,pricePerNight,totalCost\n");
+                int bookingId = 0;
+                for (int number = 1; number <= roomCount; number++) {
+                    int price = priceOf(roomTypes[number]);
+                    LocalDate night = profile.getFirstNight();
+                    for (int b = 0; b < bookingsPerRoom; b++) {
+                        night = night.plusDays(stayNights(profile, random) - 1);
+                        int nights = stayNights(profile, random);
+                        LocalDate checkOut = night.plusDays(nights);
+                        out.write(++bookingId + ",user-" + random.nextInt(userCount) + "," + number + ","
+                                + night + "," + checkOut + "," + price + ".0," + nights * price + "\n");
+                        night = checkOut;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Geometric number of nights with the profile's mean, at least 1 and at most maxStayNights
+    private static int stayNights(TrafficProfile profile, SplittableRandom random) {
+        double p = 1 / Math.max(1, profile.getMeanStayNights());
+        int nights = 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        return p >= 1 ? 1 : Math.min(nights, profile.getMaxStayNights());
+    }
+
+    private static int priceOf(RoomType type) {
+        return 1000 * (type.ordinal() + 1);
+    }
+
+    private static double[] cumulative(RoomType[] types, Map<RoomType, Double> mix) {
+        double[] cumulative = new double[types.length];
+        double sum = 0;
+        for (int i = 0; i < types.length; i++) {
+            sum += mix.getOrDefault(types[i], 0.0);
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) throw new InvalidInputException("The room type mix needs a positive weight.");
+        return cumulative;
+    }
+
+    private static RoomType pick(RoomType[] types, double[] cumulative, SplittableRandom random) {
+        double roll = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < types.length; i++) {
+            if (roll < cumulative[i]) return types[i];
+        }
+        return types[types.length - 1];
+    }
+}
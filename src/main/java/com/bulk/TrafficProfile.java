@@ -0,0 +1,44 @@
+package com.bulk;
+
+import com.enums.RoomType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Shape of synthetic traffic and datasets; the same profile and seed always produce the same stream.
+ */
+@Getter
+@Builder
+public class TrafficProfile {
+
+    @Builder.Default
+    private final long seed = 42;
+
+    // Mean booking attempts per second; arrivals are a Poisson process
+    @Builder.Default
+    private final double arrivalsPerSecond = 1_000;
+
+    // Relative weight of each room type among booking attempts and generated rooms
+    @Builder.Default
+    private final Map<RoomType, Double> roomTypeMix = Map.of(
+            RoomType.STANDARD, 0.6,
+            RoomType.JUNIOR, 0.3,
+            RoomType.MASTER, 0.1);
+
+    // Stay lengths are geometric with this mean, capped at maxStayNights
+    @Builder.Default
+    private final double meanStayNights = 3;
+
+    @Builder.Default
+    private final int maxStayNights = 14;
+
+    // Check-ins fall uniformly within this many days after firstNight
+    @Builder.Default
+    private final int bookingHorizonDays = 365;
+
+    @Builder.Default
+    private final LocalDate firstNight = LocalDate.of(2027, 1, 1);
+}
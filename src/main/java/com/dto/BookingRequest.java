@@ -0,0 +1,25 @@
+package com.dto;
+
+import com.entities.Room;
+import com.entities.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class BookingRequest {
+    private final User user;
+    private final Room room;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    // Optional; retries with the same key get the first attempt's outcome
+    private final String idempotencyKey;
+
+    public BookingRequest(User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        this(user, room, checkIn, checkOut, null);
+    }
+}
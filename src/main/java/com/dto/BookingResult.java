@@ -0,0 +1,34 @@
+package com.dto;
+
+import com.entities.Booking;
+import com.enums.RejectionReason;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of one request of a batch: either the created booking or the reason it was rejected.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+public class BookingResult {
+    private final BookingRequest request;
+    private final Booking booking;
+    // Null on success, and for failures that were not rejections (e.g. the journal could not record the booking)
+    private final RejectionReason reason;
+    private final String error;
+
+    public static BookingResult success(BookingRequest request, Booking booking) {
+        return new BookingResult(request, booking, null, null);
+    }
+
+    public static BookingResult failure(BookingRequest request, RejectionReason reason, String error) {
+        return new BookingResult(request, null, reason, error);
+    }
+
+    public boolean isSuccess() {
+        return booking != null;
+    }
+}
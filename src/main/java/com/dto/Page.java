@@ -0,0 +1,42 @@
+package com.dto;
+
+import com.exceptions.InvalidInputException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a newest-first listing. Pass {@link #getNextCursor()} back to get the following
+ * page; it is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class Page<T> {
+
+    public static final int MAX_SIZE = 1000;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public static void checkSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_SIZE) {
+            throw new InvalidInputException("Page size must be between 1 and " + MAX_SIZE + ".");
+        }
+    }
+
+    /**
+     * Builds a page from a fetch of up to {@code pageSize + 1} items: the extra item only
+     * signals that another page exists, and the last kept item becomes the cursor.
+     */
+    public static <T> Page<T> of(List<T> fetched, int pageSize, Function<T, String> cursorOf) {
+        if (fetched.size() <= pageSize) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, pageSize);
+        return new Page<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+}
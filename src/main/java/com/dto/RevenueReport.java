@@ -0,0 +1,45 @@
+package com.dto;
+
+import com.enums.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Revenue and occupancy of one room type over the nights [from, to).
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class RevenueReport {
+    private final RoomType roomType;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int rooms;
+    private final long bookedNights;
+    private final long revenue;
+
+    /**
+     * Room-nights the type could have sold: its current room count times the nights in the range.
+     */
+    public long getAvailableNights() {
+        return rooms * (to.toEpochDay() - from.toEpochDay());
+    }
+
+    /**
+     * Share of available room-nights that were booked, between 0 and 1.
+     */
+    public double getOccupancyRate() {
+        long available = getAvailableNights();
+        return available == 0 ? 0 : (double) bookedNights / available;
+    }
+
+    /**
+     * Average daily rate: revenue per booked night.
+     */
+    public double getAverageDailyRate() {
+        return bookedNights == 0 ? 0 : (double) revenue / bookedNights;
+    }
+}
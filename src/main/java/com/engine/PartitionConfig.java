@@ -0,0 +1,25 @@
+package com.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PartitionConfig {
+
+    // One writer thread per partition; more partitions than cores only adds context switches
+    @Builder.Default
+    private final int partitions = Runtime.getRuntime().availableProcessors();
+
+    // Rooms are dealt to partitions in runs of this many consecutive numbers
+    @Builder.Default
+    private final int roomsPerRange = 64;
+
+    // Commands each partition can hold before submitters have to wait; a power of two
+    @Builder.Default
+    private final int queueCapacity = 4096;
+
+    // Empty polls a writer spins through before parking until the next command arrives
+    @Builder.Default
+    private final int spinsBeforePark = 1000;
+}
@@ -0,0 +1,305 @@
+package com.engine;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.Operation;
+import com.enums.RejectionReason;
+import com.exceptions.InvalidInputException;
+import com.metrics.BookingMetrics;
+import com.pricing.PricingEngine;
+import com.repository.BookingRepository;
+import com.repository.BookingStore;
+import com.repository.OccupancyIndex;
+import com.util.RingBuffer;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-writer execution mode for bookings: rooms are split into partitions by room number range
+ * and every partition has one writer thread that owns a private {@link BookingStore}. Commands
+ * reach a writer through a bounded {@link RingBuffer}, so bookings of a hot room queue up behind
+ * each other instead of contending for its lock, and partitions never share schedules or IDs.
+ * <p>
+ * A user may book rooms of several partitions at once, so the balance cannot be owned by either
+ * writer. It is reserved up front instead: the submitting thread takes the cost off the balance
+ * atomically before enqueueing, and the writer either keeps the reservation by storing the booking
+ * or releases it by crediting it back. Concurrent bookings across partitions can therefore never
+ * overdraw a user, at the price of a brief hold on funds for a booking that is later rejected.
+ * <p>
+ * Booking IDs are striped by partition ({@code sequence * partitions + partition + 1}), so a
+ * writer allocates them without coordination and a lookup finds the owning partition from the ID.
+ * <p>
+ * This is an opt-in ingest path for plain bookings, separate from {@link com.service.BookingService}:
+ * its stores are in memory only (nothing is journaled or snapshotted, so bookings do not survive a
+ * restart), and it has no holds, idempotency keys, rescheduling, cancellation or events. Neither
+ * {@code Main} nor the HTTP API routes bookings through it.
+ */
+public class PartitionedBookingEngine implements Closeable {
+
+    private final Partition[] partitions;
+    private final int roomsPerRange;
+    private final BookingMetrics metrics;
+    private final PricingEngine pricing;
+    private volatile boolean running = true;
+
+    public PartitionedBookingEngine(OccupancyIndex occupancy, PartitionConfig config) {
+        this(occupancy, config, new BookingMetrics());
+    }
+
+    public PartitionedBookingEngine(OccupancyIndex occupancy, PartitionConfig config, BookingMetrics metrics) {
+        this(occupancy, config, metrics, PricingEngine.FLAT);
+    }
+
+    public PartitionedBookingEngine(OccupancyIndex occupancy, PartitionConfig config, BookingMetrics metrics,
+                                    PricingEngine pricing) {
+        if (config.getPartitions() <= 0 || config.getRoomsPerRange() <= 0) {
+            throw new InvalidInputException("Partition count and range size must be positive.");
+        }
+        this.roomsPerRange = config.getRoomsPerRange();
+        this.metrics = metrics;
+        this.pricing = pricing;
+        this.partitions = new Partition[config.getPartitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, new BookingRepository(occupancy, 1), config);
+        }
+        for (Partition partition : partitions) {
+            partition.writer.start();
+        }
+    }
+
+    /**
+     * Books the room for the stay and debits the user, waiting for the owning partition to decide.
+     */
+    public Booking createBooking(User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        long start = System.nanoTime();
+        try {
+            Command command = enqueue(user, room, checkIn, checkOut);
+            Booking booking;
+            try {
+                booking = command.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+            System.out.println("✅ Booking successful! Cost: " + booking.getTotalCost() + ". New User Balance: " + user.getBalance());
+            return booking;
+        } finally {
+            metrics.recordLatency(Operation.CREATE_BOOKING, start);
+        }
+    }
+
+    /**
+     * Queues a booking without waiting; the future fails with an {@link InvalidInputException} if
+     * it is rejected.
+     */
+    public CompletableFuture<Booking> submit(User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        return enqueue(user, room, checkIn, checkOut).result;
+    }
+
+    public Optional<Booking> findBooking(int bookingId) {
+        if (bookingId <= 0) return Optional.empty();
+        return partitions[(bookingId - 1) % partitions.length].store.findById(bookingId);
+    }
+
+    /**
+     * Index of the partition owning the room.
+     */
+    public int partitionOf(int roomNumber) {
+        return Math.floorMod(roomNumber / roomsPerRange, partitions.length);
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * The partition's store, for reads; only its writer thread may change it.
+     */
+    public BookingStore partition(int index) {
+        return partitions[index].store;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Partition partition : partitions) {
+            size += partition.store.size();
+        }
+        return size;
+    }
+
+    /**
+     * Stops accepting commands, lets every writer finish its queue and waits for them to exit.
+     * A command that slipped in after its writer stopped is failed and its reservation released.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Partition partition : partitions) {
+            // A submitter that saw the engine running is still publishing; later ones see it closed
+            while (partition.submitters.get() > 0) {
+                Thread.onSpinWait();
+            }
+            LockSupport.unpark(partition.writer);
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // The writer is gone, so this thread may act as the queue's consumer
+            for (Command left = partition.queue.poll(); left != null; left = partition.queue.poll()) {
+                left.user.credit(left.totalCost);
+                left.result.completeExceptionally(new IllegalStateException("Booking engine is closed."));
+            }
+        }
+    }
+
+    private Command enqueue(User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || user == null || room == null) {
+            throw reject(RejectionReason.INVALID_INPUT, "Invalid input: User, Room, and Dates are required.");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw reject(RejectionReason.INVALID_DATES, "Check-out date must be after check-in date.");
+        }
+
+        Partition partition = partitions[partitionOf(room.getRoomNumber())];
+        // Registered before checking, so close() waits for this command to be published before draining
+        partition.submitters.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Booking engine is closed.");
+            }
+
+            int totalCost;
+            try {
+                totalCost = pricing.charge(room, checkIn, checkOut);
+            } catch (InvalidInputException e) {
+                throw reject(e.getReason(), e.getMessage());
+            }
+            // Reserve: the writer keeps these funds if the booking is stored and gives them back otherwise
+            if (!user.tryDebit(totalCost)) {
+                throw reject(RejectionReason.INSUFFICIENT_BALANCE, "Insufficient balance. Cost: " + totalCost + ", Balance: " + user.getBalance());
+            }
+
+            Command command = new Command(user, room, checkIn, checkOut, totalCost);
+            // Backpressure: a full queue makes submitters wait for the writer instead of growing memory
+            while (!partition.queue.offer(command)) {
+                LockSupport.unpark(partition.writer);
+                Thread.onSpinWait();
+            }
+            if (partition.parked) {
+                LockSupport.unpark(partition.writer);
+            }
+            return command;
+        } finally {
+            partition.submitters.decrementAndGet();
+        }
+    }
+
+    private InvalidInputException reject(RejectionReason reason, String message) {
+        metrics.recordRejection(reason);
+        return new InvalidInputException(reason, message);
+    }
+
+    private static final class Command {
+        final User user;
+        final Room room;
+        final LocalDate checkIn;
+        final LocalDate checkOut;
+        final int totalCost;
+        final CompletableFuture<Booking> result = new CompletableFuture<>();
+
+        Command(User user, Room room, LocalDate checkIn, LocalDate checkOut, int totalCost) {
+            this.user = user;
+            this.room = room;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.totalCost = totalCost;
+        }
+    }
+
+    private final class Partition implements Runnable {
+        final int index;
+        final BookingStore store;
+        final RingBuffer<Command> queue;
+        final int spinsBeforePark;
+        final Thread writer;
+        // Submitters between their running check and publishing their command
+        final AtomicInteger submitters = new AtomicInteger();
+        // Set by the writer just before parking, so submitters know a wake-up is needed
+        volatile boolean parked;
+        // Only touched by the writer thread
+        int sequence;
+
+        Partition(int index, BookingStore store, PartitionConfig config) {
+            this.index = index;
+            this.store = store;
+            this.queue = new RingBuffer<>(config.getQueueCapacity());
+            this.spinsBeforePark = config.getSpinsBeforePark();
+            this.writer = new Thread(this, "booking-partition-" + index);
+            this.writer.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                Command command = queue.poll();
+                if (command != null) {
+                    execute(command);
+                    idle = 0;
+                } else if (!running) {
+                    return;
+                } else if (++idle >= spinsBeforePark) {
+                    parked = true;
+                    // Re-check after publishing the flag so a command offered meanwhile is not missed
+                    if (queue.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    idle = 0;
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        // Runs on the writer only: the store's schedules are never touched by another thread
+        private void execute(Command command) {
+            int roomNumber = command.room.getRoomNumber();
+            if (store.isOccupied(roomNumber, command.checkIn, command.checkOut)) {
+                command.user.credit(command.totalCost);
+                command.result.completeExceptionally(
+                        reject(RejectionReason.OVERLAP, "Room " + roomNumber + " is already booked for these dates."));
+                return;
+            }
+
+            try {
+                Booking booking = new Booking(
+                        sequence * partitions.length + index + 1,
+                        command.user,
+                        command.room,
+                        command.checkIn,
+                        command.checkOut,
+                        command.room.getPrice(),
+                        command.totalCost
+                );
+                store.add(booking);
+                sequence++;
+                command.result.complete(booking);
+            } catch (RuntimeException e) {
+                command.user.credit(command.totalCost);
+                command.result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.entities;
 
+import com.enums.BookingStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +18,29 @@ public class Booking {
     private  LocalDate checkOut;
     private  Double bookedPricePerNight;
     private  int totalCost;
+    // Room catalog version the booking was priced against
+    private  long catalogVersion;
+    private  BookingStatus status = BookingStatus.CONFIRMED;
+
+    /**
+     * Booking priced against {@code room}, recording the catalog version that published it.
+     */
+    public Booking(int bookingId, User user, Room roomNumber, LocalDate checkIn, LocalDate checkOut,
+                   Double bookedPricePerNight, int totalCost) {
+        this(bookingId, user, roomNumber, checkIn, checkOut, bookedPricePerNight, totalCost,
+                roomNumber == null ? 0 : roomNumber.getCatalogVersion());
+    }
+
+    /**
+     * Confirmed booking priced against the given catalog version.
+     */
+    public Booking(int bookingId, User user, Room roomNumber, LocalDate checkIn, LocalDate checkOut,
+                   Double bookedPricePerNight, int totalCost, long catalogVersion) {
+        this(bookingId, user, roomNumber, checkIn, checkOut, bookedPricePerNight, totalCost, catalogVersion,
+                BookingStatus.CONFIRMED);
+    }
+
+    public boolean isCancelled() {
+        return status == BookingStatus.CANCELLED;
+    }
 }
@@ -0,0 +1,29 @@
+package com.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Dates of a room kept aside for a user until {@code expiresAt}, priced when placed; the user pays
+ * nothing until the hold is turned into a booking. Holds are not persisted.
+ */
+@Getter
+@AllArgsConstructor
+public class Hold {
+    private final int holdId;
+    private final User user;
+    private final Room room;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    // Charged on conversion, so the price quoted with the hold is the price paid
+    private final int totalCost;
+    private final Instant expiresAt;
+
+    @Override
+    public String toString() {
+        return "Hold " + holdId + " (room " + room.getRoomNumber() + ", " + checkIn + " to " + checkOut + ")";
+    }
+}
@@ -3,15 +3,28 @@ package com.entities;
 import com.enums.RoomType;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
+/**
+ * Immutable: the catalog publishes a new revision of a room instead of changing it, so a reader
+ * holding a room always sees a matching type and price.
+ */
 @Getter
-@Setter
 @AllArgsConstructor
-@NoArgsConstructor
 public class Room {
-    private int roomNumber;
-    private RoomType roomType;
-    private Double price;
+    private final int roomNumber;
+    private final RoomType roomType;
+    private final Double price;
+    // Version of the catalog that published this revision; 0 until the room is stored
+    private final long catalogVersion;
+
+    public Room(int roomNumber, RoomType roomType, Double price) {
+        this(roomNumber, roomType, price, 0);
+    }
+
+    /**
+     * This room as published in catalog version {@code version}.
+     */
+    public Room withCatalogVersion(long version) {
+        return new Room(roomNumber, roomType, price, version);
+    }
 }
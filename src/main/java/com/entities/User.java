@@ -2,14 +2,67 @@ package com.entities;
 
 import lombok.*;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
-@Data
+@EqualsAndHashCode(of = "id")
+@ToString
 public class User {
+    // Longest ID in UTF-8 bytes; the journal and snapshots store IDs behind a 16-bit length
+    public static final int MAX_ID_BYTES = 255;
+
     private String id;
-    private int balance;
 
+    // Debited and credited concurrently by bookings, so only ever changed through CAS
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicInteger balance = new AtomicInteger();
+
+    public User(String id, int balance) {
+        this.id = id;
+        this.balance.set(balance);
+    }
+
+    public int getBalance() {
+        return balance.get();
+    }
+
+    public void setBalance(int balance) {
+        this.balance.set(balance);
+    }
+
+    /**
+     * Atomically takes {@code amount} from the balance unless that would make it negative.
+     */
+    public boolean tryDebit(int amount) {
+        return debitOrRefuse(amount) >= 0;
+    }
+
+    /**
+     * {@link #tryDebit}, returning the balance the debit left, or -1 if it was refused.
+     */
+    public int debitOrRefuse(int amount) {
+        int current;
+        do {
+            current = balance.get();
+            if (current < amount) return -1;
+        } while (!balance.compareAndSet(current, current - amount));
+        return current - amount;
+    }
+
+    /**
+     * Adds {@code amount} to the balance and returns the new balance.
+     */
+    public int credit(int amount) {
+        return balance.addAndGet(amount);
+    }
 
+    /**
+     * Atomically replaces the balance, returning the one it replaced.
+     */
+    public int getAndSetBalance(int balance) {
+        return this.balance.getAndSet(balance);
+    }
 }
@@ -0,0 +1,8 @@
+package com.enums;
+
+public enum BatchMode {
+    // Any rejected request rejects the whole batch
+    ALL_OR_NOTHING,
+    // Valid requests are booked, rejected ones are reported individually
+    BEST_EFFORT
+}
@@ -0,0 +1,7 @@
+package com.enums;
+
+public enum BookingStatus {
+    CONFIRMED,
+    // Refunded and released; the booking is kept for history but no longer holds its room
+    CANCELLED
+}
@@ -0,0 +1,12 @@
+package com.enums;
+
+public enum EventType {
+    ROOM_CREATED,
+    ROOM_UPDATED,
+    USER_CREATED,
+    // A user's balance was set, debited for bookings or credited back
+    BALANCE_CHANGED,
+    BOOKING_CREATED,
+    BOOKING_RESCHEDULED,
+    BOOKING_CANCELLED
+}
@@ -0,0 +1,10 @@
+package com.enums;
+
+public enum FsyncPolicy {
+    // Callers wait until their record is on disk; concurrent callers share one fsync (group commit)
+    ALWAYS,
+    // A background flusher syncs on a fixed interval; callers never wait
+    INTERVAL,
+    // Only synced on snapshot and close, the OS decides the rest
+    NEVER
+}
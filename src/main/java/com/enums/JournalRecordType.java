@@ -0,0 +1,12 @@
+package com.enums;
+
+public enum JournalRecordType {
+    ROOM_CREATED,
+    ROOM_UPDATED,
+    USER_CREATED,
+    // Balance change by an amount
+    USER_BALANCE_CHANGED,
+    BOOKING_CREATED,
+    BOOKING_RESCHEDULED,
+    BOOKING_CANCELLED
+}
@@ -0,0 +1,12 @@
+package com.enums;
+
+public enum Operation {
+    CREATE_BOOKING,
+    CREATE_BOOKINGS,
+    UPDATE_BOOKING_DATES,
+    CANCEL_BOOKING,
+    PLACE_HOLD,
+    FIND_BOOKING,
+    FIND_ROOM,
+    FIND_USER
+}
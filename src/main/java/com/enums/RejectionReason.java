@@ -0,0 +1,17 @@
+package com.enums;
+
+public enum RejectionReason {
+    // Missing user, room or dates
+    INVALID_INPUT,
+    // Check-out not after check-in
+    INVALID_DATES,
+    INSUFFICIENT_BALANCE,
+    // Room already booked for (part of) the stay
+    OVERLAP,
+    // Unknown user, room or booking ID
+    NOT_FOUND,
+    // Booking was cancelled and can no longer be changed
+    CANCELLED,
+    // Another request of an all-or-nothing batch failed
+    BATCH_ABORTED
+}
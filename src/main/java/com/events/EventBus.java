@@ -0,0 +1,275 @@
+package com.events;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.EventType;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process event bus over a preallocated ring of {@link HotelEvent} slots.
+ * <p>
+ * Publishers claim a sequence number with one atomic increment, fill the slot it maps to and mark
+ * it published; nothing is allocated. Every subscriber runs on its own thread and tracks its own
+ * sequence, handling all events published since its last pass as one batch before advancing it.
+ * A publisher that would overwrite a slot some subscriber has not handled yet waits for it, so a
+ * slow subscriber throttles publishers instead of losing events or growing memory.
+ * <p>
+ * With no subscribers publishing is a no-op. A new subscriber sees events published after it subscribed.
+ */
+public class EventBus implements EventPublisher, Closeable {
+
+    // Empty polls a subscriber spins, then yields, before it starts sleeping between polls
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    private final HotelEvent[] slots;
+    // Sequence last published into each slot; a slot is readable when it holds the wanted sequence
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Lower bound of the slowest subscriber's sequence, so publishers rarely scan all of them
+    private volatile long gatingCache = -1;
+
+    public EventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2: " + capacity);
+        }
+        this.slots = new HotelEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new HotelEvent();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Starts a subscriber thread feeding {@code handler}; close the subscription to stop it.
+     */
+    public Subscription subscribe(String name, EventHandler handler) {
+        Subscription subscription = new Subscription(name, handler, claimed.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    @Override
+    public void roomCreated(Room room) {
+        publishRoom(EventType.ROOM_CREATED, room);
+    }
+
+    @Override
+    public void roomUpdated(Room room) {
+        publishRoom(EventType.ROOM_UPDATED, room);
+    }
+
+    @Override
+    public void userCreated(User user) {
+        if (subscriptions.isEmpty()) return;
+        long sequence = claim();
+        try {
+            HotelEvent event = start(sequence, EventType.USER_CREATED);
+            event.user(user);
+        } finally {
+            published.set((int) sequence & mask, sequence);
+        }
+    }
+
+    @Override
+    public void balanceChanged(User user, int balance, long amount) {
+        if (subscriptions.isEmpty()) return;
+        long sequence = claim();
+        try {
+            HotelEvent event = start(sequence, EventType.BALANCE_CHANGED);
+            event.user(user);
+            event.balance(balance);
+            event.amount(amount);
+        } finally {
+            published.set((int) sequence & mask, sequence);
+        }
+    }
+
+    @Override
+    public void bookingCreated(Booking booking) {
+        if (subscriptions.isEmpty()) return;
+        long sequence = claim();
+        try {
+            start(sequence, EventType.BOOKING_CREATED).booking(booking);
+        } finally {
+            published.set((int) sequence & mask, sequence);
+        }
+    }
+
+    @Override
+    public void bookingRescheduled(Booking booking, LocalDate previousCheckIn, LocalDate previousCheckOut) {
+        if (subscriptions.isEmpty()) return;
+        long sequence = claim();
+        try {
+            HotelEvent event = start(sequence, EventType.BOOKING_RESCHEDULED);
+            event.booking(booking);
+            event.previousDates(previousCheckIn, previousCheckOut);
+        } finally {
+            published.set((int) sequence & mask, sequence);
+        }
+    }
+
+    @Override
+    public void bookingCancelled(Booking booking) {
+        if (subscriptions.isEmpty()) return;
+        long sequence = claim();
+        try {
+            start(sequence, EventType.BOOKING_CANCELLED).booking(booking);
+        } finally {
+            published.set((int) sequence & mask, sequence);
+        }
+    }
+
+    /**
+     * Stops every subscriber after it has handled what was already published.
+     */
+    @Override
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    private void publishRoom(EventType type, Room room) {
+        if (subscriptions.isEmpty()) return;
+        long sequence = claim();
+        try {
+            start(sequence, type).room(room);
+        } finally {
+            published.set((int) sequence & mask, sequence);
+        }
+    }
+
+    private HotelEvent start(long sequence, EventType type) {
+        HotelEvent event = slots[(int) sequence & mask];
+        event.reset(sequence, type);
+        return event;
+    }
+
+    // Claims the next sequence, waiting until every subscriber is done with its slot's previous lap
+    private long claim() {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint > gatingCache) {
+            long slowest;
+            while (wrapPoint > (slowest = slowestSequence(sequence))) {
+                LockSupport.parkNanos(1_000);
+            }
+            gatingCache = slowest;
+        }
+        return sequence;
+    }
+
+    private long slowestSequence(long fallback) {
+        long slowest = fallback;
+        for (Subscription subscription : subscriptions) {
+            slowest = Math.min(slowest, subscription.sequence.get());
+        }
+        return slowest;
+    }
+
+    /**
+     * A subscriber's thread and position in the ring.
+     */
+    public final class Subscription implements Closeable {
+
+        private final String name;
+        private final EventHandler handler;
+        // Last sequence handled; publishers read it to know which slots they may reuse
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Subscription(String name, EventHandler handler, long startAfter) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence = new AtomicLong(startAfter);
+            this.thread = new Thread(this::run, "events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Events published but not yet handled by this subscriber.
+         */
+        public long lag() {
+            return Math.max(0, claimed.get() - sequence.get());
+        }
+
+        /**
+         * Handles what is already published, then stops the thread and releases the ring.
+         */
+        @Override
+        public void close() {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            subscriptions.remove(this);
+        }
+
+        private void run() {
+            int idle = 0;
+            while (true) {
+                long next = sequence.get() + 1;
+                long available = highestPublished(next);
+                if (available < next) {
+                    if (!running) return;
+                    idle = idle(idle);
+                    continue;
+                }
+                idle = 0;
+                for (long s = next; s <= available; s++) {
+                    try {
+                        handler.onEvent(slots[(int) s & mask], s == available);
+                    } catch (Exception e) {
+                        System.out.println("❌ Event handler '" + name + "' failed on event " + s + ": " + e.getMessage());
+                    }
+                }
+                sequence.set(available);
+            }
+        }
+
+        // Last sequence of the contiguous published run starting at next, or next - 1 if there is none
+        private long highestPublished(long next) {
+            long limit = claimed.get();
+            long s = next;
+            while (s <= limit && published.get((int) s & mask) == s) {
+                s++;
+            }
+            return s - 1;
+        }
+
+        private int idle(int idle) {
+            if (idle < SPINS) {
+                Thread.onSpinWait();
+            } else if (idle < SPINS + YIELDS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                return idle;
+            }
+            return idle + 1;
+        }
+    }
+}
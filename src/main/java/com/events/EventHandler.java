@@ -0,0 +1,13 @@
+package com.events;
+
+/**
+ * Consumer side of the {@link EventBus}, called on the subscriber's own thread in publish order.
+ */
+@FunctionalInterface
+public interface EventHandler {
+
+    /**
+     * @param endOfBatch true for the last event currently available, a good moment to flush
+     */
+    void onEvent(HotelEvent event, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,50 @@
+package com.events;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Subscriber appending one tab-separated line per event to a file, flushed once per batch.
+ */
+public class EventLogWriter implements EventHandler, Closeable {
+
+    private final BufferedWriter out;
+
+    public EventLogWriter(Path file) throws IOException {
+        this.out = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void onEvent(HotelEvent event, boolean endOfBatch) throws IOException {
+        out.write(event.getSequence() + "\t" + event.getTimestampMillis() + "\t" + event.getType() + "\t");
+        switch (event.getType()) {
+            case ROOM_CREATED, ROOM_UPDATED ->
+                    out.write("room=" + event.getRoomNumber() + "\ttype=" + event.getRoomType() + "\tprice=" + event.getPrice());
+            case USER_CREATED -> out.write("user=" + event.getUserId() + "\tbalance=" + event.getBalance());
+            case BALANCE_CHANGED ->
+                    out.write("user=" + event.getUserId() + "\tamount=" + event.getAmount() + "\tbalance=" + event.getBalance());
+            case BOOKING_CREATED -> out.write("booking=" + event.getBookingId() + "\tuser=" + event.getUserId()
+                    + "\troom=" + event.getRoomNumber() + "\t" + event.getCheckIn() + "\t" + event.getCheckOut()
+                    + "\ttotal=" + event.getAmount());
+            case BOOKING_RESCHEDULED -> out.write("booking=" + event.getBookingId() + "\troom=" + event.getRoomNumber()
+                    + "\t" + event.getPreviousCheckIn() + "\t" + event.getPreviousCheckOut()
+                    + "\t->\t" + event.getCheckIn() + "\t" + event.getCheckOut() + "\ttotal=" + event.getAmount());
+            case BOOKING_CANCELLED -> out.write("booking=" + event.getBookingId() + "\tuser=" + event.getUserId()
+                    + "\troom=" + event.getRoomNumber() + "\t" + event.getCheckIn() + "\t" + event.getCheckOut()
+                    + "\trefund=" + event.getAmount());
+        }
+        out.newLine();
+        if (endOfBatch) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
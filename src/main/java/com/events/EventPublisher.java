@@ -0,0 +1,66 @@
+package com.events;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+
+import java.time.LocalDate;
+
+/**
+ * Receives every state change made by the services, after it has been applied and journaled. Booking
+ * changes are published under their room's lock, so each booking's events arrive in the order its
+ * changes were made and carry its state as of that change; the record may not be flushed yet.
+ */
+public interface EventPublisher {
+
+    /**
+     * Publisher that drops everything, used when nobody listens.
+     */
+    EventPublisher NONE = new EventPublisher() {
+        @Override
+        public void roomCreated(Room room) {
+        }
+
+        @Override
+        public void roomUpdated(Room room) {
+        }
+
+        @Override
+        public void userCreated(User user) {
+        }
+
+        @Override
+        public void balanceChanged(User user, int balance, long amount) {
+        }
+
+        @Override
+        public void bookingCreated(Booking booking) {
+        }
+
+        @Override
+        public void bookingRescheduled(Booking booking, LocalDate previousCheckIn, LocalDate previousCheckOut) {
+        }
+
+        @Override
+        public void bookingCancelled(Booking booking) {
+        }
+    };
+
+    void roomCreated(Room room);
+
+    void roomUpdated(Room room);
+
+    void userCreated(User user);
+
+    /**
+     * The user's balance moved by {@code amount} (negative for a debit) to {@code balance}; the
+     * balance is the one the change left, as another change may already have followed it.
+     */
+    void balanceChanged(User user, int balance, long amount);
+
+    void bookingCreated(Booking booking);
+
+    void bookingRescheduled(Booking booking, LocalDate previousCheckIn, LocalDate previousCheckOut);
+
+    void bookingCancelled(Booking booking);
+}
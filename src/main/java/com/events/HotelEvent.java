@@ -0,0 +1,115 @@
+package com.events;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.EventType;
+import com.enums.RoomType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * One slot of the {@link EventBus} ring, overwritten in place for every event published into it.
+ * Which fields are meaningful depends on {@link #getType()}:
+ * <ul>
+ *     <li>ROOM_CREATED, ROOM_UPDATED: roomNumber, roomType, price</li>
+ *     <li>USER_CREATED: userId, balance</li>
+ *     <li>BALANCE_CHANGED: userId, balance (after the change), amount (signed change)</li>
+ *     <li>BOOKING_CREATED: bookingId, userId, roomNumber, checkIn, checkOut, amount (total cost)</li>
+ *     <li>BOOKING_RESCHEDULED: the same (amount is the new total), plus previousCheckIn and previousCheckOut</li>
+ *     <li>BOOKING_CANCELLED: the same as BOOKING_CREATED, amount being the refunded total</li>
+ * </ul>
+ * Handlers must copy what they keep: the slot is reused once every subscriber has moved past it.
+ */
+@Getter
+public final class HotelEvent {
+
+    private long sequence;
+    private EventType type;
+    private long timestampMillis;
+    private int roomNumber;
+    private RoomType roomType;
+    private double price;
+    private String userId;
+    private int balance;
+    private int bookingId;
+    private long amount;
+    // Dates are kept as epoch days so filling a slot never allocates
+    @Getter(AccessLevel.NONE)
+    private long checkInDay;
+    @Getter(AccessLevel.NONE)
+    private long checkOutDay;
+    @Getter(AccessLevel.NONE)
+    private long previousCheckInDay;
+    @Getter(AccessLevel.NONE)
+    private long previousCheckOutDay;
+
+    public LocalDate getCheckIn() {
+        return LocalDate.ofEpochDay(checkInDay);
+    }
+
+    public LocalDate getCheckOut() {
+        return LocalDate.ofEpochDay(checkOutDay);
+    }
+
+    public LocalDate getPreviousCheckIn() {
+        return LocalDate.ofEpochDay(previousCheckInDay);
+    }
+
+    public LocalDate getPreviousCheckOut() {
+        return LocalDate.ofEpochDay(previousCheckOutDay);
+    }
+
+    void reset(long sequence, EventType type) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestampMillis = System.currentTimeMillis();
+        this.roomNumber = 0;
+        this.roomType = null;
+        this.price = 0;
+        this.userId = null;
+        this.balance = 0;
+        this.bookingId = 0;
+        this.amount = 0;
+        this.checkInDay = 0;
+        this.checkOutDay = 0;
+        this.previousCheckInDay = 0;
+        this.previousCheckOutDay = 0;
+    }
+
+    void room(Room room) {
+        this.roomNumber = room.getRoomNumber();
+        this.roomType = room.getRoomType();
+        this.price = room.getPrice();
+    }
+
+    void user(User user) {
+        this.userId = user.getId();
+        this.balance = user.getBalance();
+    }
+
+    void balance(int balance) {
+        this.balance = balance;
+    }
+
+    void amount(long amount) {
+        this.amount = amount;
+    }
+
+    void booking(Booking booking) {
+        this.bookingId = booking.getBookingId();
+        this.userId = booking.getUser().getId();
+        this.roomNumber = booking.getRoomNumber().getRoomNumber();
+        this.roomType = booking.getRoomNumber().getRoomType();
+        this.checkInDay = booking.getCheckIn().toEpochDay();
+        this.checkOutDay = booking.getCheckOut().toEpochDay();
+        this.amount = booking.getTotalCost();
+    }
+
+    void previousDates(LocalDate checkIn, LocalDate checkOut) {
+        this.previousCheckInDay = checkIn.toEpochDay();
+        this.previousCheckOutDay = checkOut.toEpochDay();
+    }
+}
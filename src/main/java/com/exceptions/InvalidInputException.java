@@ -1,7 +1,25 @@
 package com.exceptions;
 
+import com.enums.RejectionReason;
+import lombok.Getter;
+
+import java.io.Serial;
+
+@Getter
 public class InvalidInputException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // Why the input was refused, so front ends can map it (e.g. to an HTTP status)
+    private final RejectionReason reason;
+
     public InvalidInputException(String message) {
+        this(RejectionReason.INVALID_INPUT, message);
+    }
+
+    public InvalidInputException(RejectionReason reason, String message) {
         super(message);
+        this.reason = reason;
     }
 }
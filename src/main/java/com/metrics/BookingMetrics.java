@@ -0,0 +1,130 @@
+package com.metrics;
+
+import com.enums.Operation;
+import com.enums.RejectionReason;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Latency histograms per {@link Operation} and counters per {@link RejectionReason}, shared by the
+ * services. The recording side is allocation-free; reads go through the getters below (pull API)
+ * or through JMX once {@link #registerMBean(String)} has been called.
+ */
+public class BookingMetrics implements BookingMetricsMXBean {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder[] rejections = new LongAdder[REASONS.length];
+
+    public BookingMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a {@link System#nanoTime()} reading.
+     */
+    public void recordLatency(Operation operation, long startNanos) {
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void recordRejection(RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    public LatencyHistogram latency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    public long rejections(RejectionReason reason) {
+        return rejections[reason.ordinal()].sum();
+    }
+
+    /**
+     * Exposes these metrics on the platform MBean server as {@code com.hotel:type=BookingMetrics,name=<name>}.
+     */
+    public void registerMBean(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName("com.hotel:type=BookingMetrics,name=" + name));
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Booking metrics '" + name + "' are already registered.", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register booking metrics '" + name + "'.", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            counts.put(operation.name(), latency(operation).getCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejections() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (RejectionReason reason : REASONS) {
+            counts.put(reason.name(), rejections(reason));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMicros() {
+        return perOperation(LatencyHistogram::getMeanNanos);
+    }
+
+    @Override
+    public Map<String, Double> getP50LatencyMicros() {
+        return perOperation(h -> h.valueAtPercentile(50));
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMicros() {
+        return perOperation(h -> h.valueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getP999LatencyMicros() {
+        return perOperation(h -> h.valueAtPercentile(99.9));
+    }
+
+    @Override
+    public Map<String, Double> getMaxLatencyMicros() {
+        return perOperation(LatencyHistogram::getMaxNanos);
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+        for (LongAdder rejection : rejections) {
+            rejection.reset();
+        }
+    }
+
+    private Map<String, Double> perOperation(ToDoubleFunction<LatencyHistogram> nanos) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            values.put(operation.name(), nanos.applyAsDouble(latency(operation)) / 1000.0);
+        }
+        return values;
+    }
+}
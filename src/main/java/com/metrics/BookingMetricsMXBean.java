@@ -0,0 +1,25 @@
+package com.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link BookingMetrics}; maps are keyed by operation or rejection reason name.
+ */
+public interface BookingMetricsMXBean {
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getRejections();
+
+    Map<String, Double> getMeanLatencyMicros();
+
+    Map<String, Double> getP50LatencyMicros();
+
+    Map<String, Double> getP99LatencyMicros();
+
+    Map<String, Double> getP999LatencyMicros();
+
+    Map<String, Double> getMaxLatencyMicros();
+
+    void reset();
+}
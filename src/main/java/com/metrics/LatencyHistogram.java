@@ -0,0 +1,86 @@
+package com.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size log-linear latency histogram in the spirit of HdrHistogram: values below 128 ns get
+ * their own bucket, above that every power of two is split into 64 linear buckets, so any recorded
+ * value is reported within ~1.6%. Recording is a couple of atomic increments and never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int BUCKETS = LINEAR + (62 - 7 + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totalNanos.add(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Smallest recorded bucket bound such that {@code percentile}% of values are at or below it.
+     */
+    public long valueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestValueOf(i), maxNanos.get());
+        }
+        return maxNanos.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - 6;
+        return LINEAR + (msb - 7) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int k = bucket - LINEAR;
+        int shift = k / SUB_BUCKETS + 1;
+        long low = (long) (SUB_BUCKETS + k % SUB_BUCKETS) << shift;
+        return low + (1L << shift) - 1;
+    }
+}
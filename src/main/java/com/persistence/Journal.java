@@ -0,0 +1,104 @@
+package com.persistence;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sink for every state mutation made by the services.
+ * <p>
+ * A mutation and its record must be made while holding {@link #mutationLock()}, so a snapshot
+ * never sees a change without its record (or the reverse). Each record method returns the
+ * journal position right after the record; pass it to {@link #awaitDurable(long)} once all
+ * other locks are released.
+ */
+public interface Journal {
+
+    /**
+     * Journal that records nothing, used when persistence is not configured.
+     */
+    Journal NONE = new Journal() {
+        private final Lock noGate = new ReentrantReadWriteLock().readLock();
+
+        @Override
+        public Lock mutationLock() {
+            return noGate;
+        }
+
+        @Override
+        public long roomCreated(Room room) {
+            return 0;
+        }
+
+        @Override
+        public long roomUpdated(Room room) {
+            return 0;
+        }
+
+        @Override
+        public long userCreated(User user, int balance) {
+            return 0;
+        }
+
+        @Override
+        public long userUpdated(User user, int balanceChange) {
+            return 0;
+        }
+
+        @Override
+        public long bookingCreated(Booking booking) {
+            return 0;
+        }
+
+        @Override
+        public long bookingRescheduled(Booking booking) {
+            return 0;
+        }
+
+        @Override
+        public long bookingCancelled(Booking booking) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+        }
+    };
+
+    Lock mutationLock();
+
+    long roomCreated(Room room);
+
+    long roomUpdated(Room room);
+
+    /**
+     * A new user with its opening balance, passed explicitly: the user may be debited as soon as it is visible.
+     */
+    long userCreated(User user, int balance);
+
+    /**
+     * The user's balance was changed by {@code balanceChange}. It is recorded as a change rather than the
+     * new value, so bookings debiting the user concurrently replay right whichever record came first.
+     */
+    long userUpdated(User user, int balanceChange);
+
+    long bookingCreated(Booking booking);
+
+    /**
+     * The booking's new dates and total cost; replay settles the difference with the user.
+     */
+    long bookingRescheduled(Booking booking);
+
+    /**
+     * The booking was cancelled; replay refunds its total cost.
+     */
+    long bookingCancelled(Booking booking);
+
+    /**
+     * Blocks until everything up to {@code position} is on disk, as far as the fsync policy requires.
+     */
+    void awaitDurable(long position);
+}
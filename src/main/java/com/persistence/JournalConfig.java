@@ -0,0 +1,25 @@
+package com.persistence;
+
+import com.enums.FsyncPolicy;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class JournalConfig {
+
+    @Builder.Default
+    private final FsyncPolicy fsyncPolicy = FsyncPolicy.ALWAYS;
+
+    // Only used by FsyncPolicy.INTERVAL
+    @Builder.Default
+    private final long fsyncIntervalMillis = 10;
+
+    // Size of each mapped window of the journal file; a record never spans two windows
+    @Builder.Default
+    private final int regionSize = 64 * 1024 * 1024;
+
+    // A snapshot is taken (and the journal rolled) after this many records; 0 disables it
+    @Builder.Default
+    private final long snapshotEveryRecords = 1_000_000;
+}
@@ -0,0 +1,173 @@
+package com.persistence;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.JournalRecordType;
+import com.enums.RoomType;
+import com.repository.BookingStore;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+import com.util.IntIntMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Applies journal records straight to the repositories, skipping the services' validation
+ * and console output: every record describes a mutation that was already accepted once.
+ */
+public class JournalReplayer {
+
+    private static final JournalRecordType[] TYPES = JournalRecordType.values();
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final RoomRepository rooms;
+    private final UserRepository users;
+    private final BookingStore bookings;
+    private final int regionSize;
+    private final CRC32C crc = new CRC32C();
+    // A run of room creations not yet added; added together so replay copies the catalog once per run
+    private final List<Room> createdRooms = new ArrayList<>();
+    private IntIntMap createdRoomNumbers = new IntIntMap();
+    private long replayed;
+
+    public JournalReplayer(RoomRepository rooms, UserRepository users, BookingStore bookings, int regionSize) {
+        this.rooms = rooms;
+        this.users = users;
+        this.bookings = bookings;
+        this.regionSize = regionSize;
+    }
+
+    public long replayed() {
+        return replayed;
+    }
+
+    /**
+     * Replays one journal file and returns the byte offset right after its last intact record,
+     * which is where appending should resume.
+     */
+    public long replay(Path file) {
+        if (!Files.exists(file)) return 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long regionStart = 0; regionStart < size; regionStart += regionSize) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(regionSize, size - regionStart));
+                int end = replayRegion(region);
+                if (end >= 0) return regionStart + end;
+            }
+            return size;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay journal " + file, e);
+        } finally {
+            addCreatedRooms();
+        }
+    }
+
+    // Returns where the journal ends inside this region, or -1 if it continues in the next one
+    private int replayRegion(ByteBuffer region) {
+        while (region.remaining() >= 4) {
+            int start = region.position();
+            int length = region.getInt();
+            if (length == MappedJournal.SKIP_TO_NEXT_REGION) return -1;
+            if (length <= 0 || length + 4 > region.remaining()) return start;
+
+            crc.reset();
+            crc.update(region.slice(start + 4, length));
+            if ((int) crc.getValue() != region.getInt(start + 4 + length)) return start;
+
+            apply(TYPES[region.get()], region);
+            region.position(start + 4 + length + 4);
+            replayed++;
+        }
+        return region.limit() < regionSize ? region.position() : -1;
+    }
+
+    private void apply(JournalRecordType type, ByteBuffer buf) {
+        if (type != JournalRecordType.ROOM_CREATED) {
+            // Anything else may read the rooms created so far
+            addCreatedRooms();
+        }
+        switch (type) {
+            case ROOM_CREATED -> {
+                int roomNumber = buf.getInt();
+                RoomType roomType = ROOM_TYPES[buf.get()];
+                double price = buf.getDouble();
+                if (rooms.findByNumber(roomNumber).isEmpty() && createdRoomNumbers.put(roomNumber, 0) == IntIntMap.MISSING) {
+                    createdRooms.add(new Room(roomNumber, roomType, price));
+                } else {
+                    addCreatedRooms();
+                    rooms.update(roomNumber, roomType, price);
+                }
+            }
+            case ROOM_UPDATED -> {
+                int roomNumber = buf.getInt();
+                RoomType roomType = ROOM_TYPES[buf.get()];
+                double price = buf.getDouble();
+                rooms.findByNumber(roomNumber).ifPresentOrElse(
+                        room -> rooms.update(roomNumber, roomType, price),
+                        () -> rooms.add(new Room(roomNumber, roomType, price)));
+            }
+            case USER_CREATED -> {
+                String id = getString(buf);
+                users.add(new User(id, buf.getInt()));
+            }
+            case USER_BALANCE_CHANGED -> {
+                String id = getString(buf);
+                int change = buf.getInt();
+                users.findById(id).orElseThrow().credit(change);
+            }
+            case BOOKING_CREATED -> {
+                int bookingId = buf.getInt();
+                User user = users.findById(getString(buf)).orElseThrow();
+                Room room = rooms.findByNumber(buf.getInt()).orElseThrow();
+                LocalDate checkIn = LocalDate.ofEpochDay(buf.getLong());
+                LocalDate checkOut = LocalDate.ofEpochDay(buf.getLong());
+                double pricePerNight = buf.getDouble();
+                int totalCost = buf.getInt();
+                long catalogVersion = buf.getLong();
+                user.setBalance(user.getBalance() - totalCost);
+                bookings.add(new Booking(bookingId, user, room, checkIn, checkOut, pricePerNight, totalCost, catalogVersion));
+            }
+            case BOOKING_RESCHEDULED -> {
+                Booking booking = bookings.findById(buf.getInt()).orElseThrow();
+                LocalDate checkIn = LocalDate.ofEpochDay(buf.getLong());
+                LocalDate checkOut = LocalDate.ofEpochDay(buf.getLong());
+                int totalCost = buf.getInt();
+                User user = booking.getUser();
+                user.setBalance(user.getBalance() - (totalCost - booking.getTotalCost()));
+                bookings.reschedule(booking, checkIn, checkOut, totalCost);
+            }
+            case BOOKING_CANCELLED -> {
+                Booking booking = bookings.findById(buf.getInt()).orElseThrow();
+                User user = booking.getUser();
+                user.setBalance(user.getBalance() + booking.getTotalCost());
+                bookings.cancel(booking);
+            }
+        }
+    }
+
+    private void addCreatedRooms() {
+        if (createdRooms.isEmpty()) return;
+        rooms.addEach(createdRooms);
+        createdRooms.clear();
+        createdRoomNumbers = new IntIntMap();
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buf.getShort())];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
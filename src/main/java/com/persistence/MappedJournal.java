@@ -0,0 +1,374 @@
+package com.persistence;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.FsyncPolicy;
+import com.enums.JournalRecordType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary journal written through a memory-mapped {@link FileChannel}.
+ * <p>
+ * The file is mapped in fixed-size regions; a record is {@code [int length][byte type][body][int crc32c]}
+ * and never spans two regions (a length of {@code -1}, or fewer than four bytes left, means "continue
+ * at the next region"). Appends only copy bytes into the mapping; fsync is left to a flusher thread
+ * that syncs everything written so far in one call, so under {@link FsyncPolicy#ALWAYS} all callers
+ * waiting at the same time share a single fsync.
+ * <p>
+ * Positions are logical: they keep growing across {@link #rotate()}, which starts the next file
+ * ("generation") once a snapshot has captured everything before it.
+ */
+public class MappedJournal implements Journal, Closeable {
+
+    static final int SKIP_TO_NEXT_REGION = -1;
+
+    private final Path directory;
+    private final JournalConfig config;
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final AtomicLong durable = new AtomicLong();
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition flushWanted = syncLock.newCondition();
+    private final Condition flushDone = syncLock.newCondition();
+    private boolean flushRequested;
+    private volatile boolean closed;
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long generation;
+    private long base;
+    private long records;
+    private Runnable snapshotTrigger = () -> { };
+
+    /**
+     * Opens generation {@code generation} for appending at byte {@code offset}, the end of its valid records.
+     */
+    public MappedJournal(Path directory, JournalConfig config, long generation, long offset) {
+        this.directory = directory;
+        this.config = config;
+        this.generation = generation;
+        openFile(offset);
+        durable.set(offset);
+
+        if (config.getFsyncPolicy() == FsyncPolicy.NEVER) {
+            flusher = null;
+        } else {
+            flusher = new Thread(this::flushLoop, "journal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    static Path fileOf(Path directory, long generation) {
+        return directory.resolve("journal-" + generation + ".log");
+    }
+
+    /**
+     * Called once every {@link JournalConfig#getSnapshotEveryRecords()} records, from the appending thread.
+     */
+    public void onSnapshotDue(Runnable trigger) {
+        this.snapshotTrigger = trigger;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    @Override
+    public Lock mutationLock() {
+        return gate.readLock();
+    }
+
+    /**
+     * Exclusive side of the mutation gate: while held, no service can change state.
+     */
+    public Lock snapshotLock() {
+        return gate.writeLock();
+    }
+
+    @Override
+    public long roomCreated(Room room) {
+        return appendRoom(JournalRecordType.ROOM_CREATED, room);
+    }
+
+    @Override
+    public long roomUpdated(Room room) {
+        return appendRoom(JournalRecordType.ROOM_UPDATED, room);
+    }
+
+    @Override
+    public long userCreated(User user, int balance) {
+        return appendUser(JournalRecordType.USER_CREATED, user, balance);
+    }
+
+    @Override
+    public long userUpdated(User user, int balanceChange) {
+        return appendUser(JournalRecordType.USER_BALANCE_CHANGED, user, balanceChange);
+    }
+
+    @Override
+    public long bookingCreated(Booking booking) {
+        byte[] userId = booking.getUser().getId().getBytes(StandardCharsets.UTF_8);
+        return append(JournalRecordType.BOOKING_CREATED, 4 + 2 + userId.length + 4 + 8 + 8 + 8 + 4 + 8, buf -> {
+            buf.putInt(booking.getBookingId());
+            putString(buf, userId);
+            buf.putInt(booking.getRoomNumber().getRoomNumber());
+            buf.putLong(booking.getCheckIn().toEpochDay());
+            buf.putLong(booking.getCheckOut().toEpochDay());
+            buf.putDouble(booking.getBookedPricePerNight());
+            buf.putInt(booking.getTotalCost());
+            buf.putLong(booking.getCatalogVersion());
+        });
+    }
+
+    @Override
+    public long bookingRescheduled(Booking booking) {
+        return append(JournalRecordType.BOOKING_RESCHEDULED, 4 + 8 + 8 + 4, buf -> {
+            buf.putInt(booking.getBookingId());
+            buf.putLong(booking.getCheckIn().toEpochDay());
+            buf.putLong(booking.getCheckOut().toEpochDay());
+            buf.putInt(booking.getTotalCost());
+        });
+    }
+
+    @Override
+    public long bookingCancelled(Booking booking) {
+        return append(JournalRecordType.BOOKING_CANCELLED, 4, buf -> buf.putInt(booking.getBookingId()));
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (config.getFsyncPolicy() != FsyncPolicy.ALWAYS || durable.get() >= position) return;
+        syncLock.lock();
+        try {
+            while (durable.get() < position && !closed) {
+                flushRequested = true;
+                flushWanted.signal();
+                flushDone.awaitUninterruptibly();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Syncs and closes the current file and continues in the next generation.
+     * Must be called while holding {@link #snapshotLock()}.
+     */
+    public long rotate() {
+        appendLock.lock();
+        try {
+            region.force();
+            long fileEnd = regionStart + region.position();
+            durable.accumulateAndGet(base + fileEnd, Math::max);
+            closeChannel();
+            base += fileEnd;
+            generation++;
+            records = 0;
+            openFile(0);
+            return generation;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (flusher != null) {
+            syncLock.lock();
+            try {
+                flushWanted.signalAll();
+                flushDone.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        appendLock.lock();
+        try {
+            region.force();
+            closeChannel();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long appendRoom(JournalRecordType type, Room room) {
+        return append(type, 4 + 1 + 8, buf -> {
+            buf.putInt(room.getRoomNumber());
+            buf.put((byte) room.getRoomType().ordinal());
+            buf.putDouble(room.getPrice());
+        });
+    }
+
+    private long appendUser(JournalRecordType type, User user, int amount) {
+        byte[] id = user.getId().getBytes(StandardCharsets.UTF_8);
+        return append(type, 2 + id.length + 4, buf -> {
+            putString(buf, id);
+            buf.putInt(amount);
+        });
+    }
+
+    private long append(JournalRecordType type, int bodySize, Consumer<ByteBuffer> body) {
+        int length = 1 + bodySize;
+        int total = 4 + length + 4;
+        if (total > config.getRegionSize()) {
+            throw new IllegalArgumentException("Journal record of " + total + " bytes exceeds the region size.");
+        }
+
+        long position;
+        boolean snapshotDue;
+        appendLock.lock();
+        try {
+            if (closed) throw new IllegalStateException("Journal is closed.");
+            if (region.remaining() < total) {
+                nextRegion();
+            }
+            int start = region.position();
+            region.putInt(length);
+            region.put((byte) type.ordinal());
+            body.accept(region);
+            crc.reset();
+            crc.update(region.slice(start + 4, length));
+            region.putInt((int) crc.getValue());
+
+            position = base + regionStart + region.position();
+            snapshotDue = ++records == config.getSnapshotEveryRecords();
+        } finally {
+            appendLock.unlock();
+        }
+        if (snapshotDue) snapshotTrigger.run();
+        return position;
+    }
+
+    // Caller holds appendLock
+    private void nextRegion() {
+        if (region.remaining() >= 4) {
+            region.putInt(SKIP_TO_NEXT_REGION);
+        }
+        if (config.getFsyncPolicy() != FsyncPolicy.NEVER) {
+            region.force();
+            durable.accumulateAndGet(base + regionStart + region.position(), Math::max);
+        }
+        regionStart += config.getRegionSize();
+        region = map(regionStart);
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            syncLock.lock();
+            try {
+                if (config.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+                    while (!flushRequested && !closed) {
+                        flushWanted.awaitUninterruptibly();
+                    }
+                } else {
+                    flushWanted.await(config.getFsyncIntervalMillis(), TimeUnit.MILLISECONDS);
+                }
+                flushRequested = false;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                syncLock.unlock();
+            }
+
+            flush();
+
+            syncLock.lock();
+            try {
+                flushDone.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+    }
+
+    // Everything appended before this call is covered, however many appenders are waiting on it
+    private void flush() {
+        MappedByteBuffer buffer;
+        long bufferBase;
+        int end;
+        appendLock.lock();
+        try {
+            buffer = region;
+            bufferBase = base + regionStart;
+            end = region.position();
+        } finally {
+            appendLock.unlock();
+        }
+        long target = bufferBase + end;
+        long from = durable.get();
+        if (target <= from) return;
+        int offset = (int) Math.max(0, from - bufferBase);
+        buffer.force(offset, end - offset);
+        durable.accumulateAndGet(target, Math::max);
+    }
+
+    private void openFile(long offset) {
+        try {
+            channel = FileChannel.open(fileOf(directory, generation),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            regionStart = offset / config.getRegionSize() * config.getRegionSize();
+            // Anything past the last valid record is a torn write from a crash
+            channel.truncate(regionStart + config.getRegionSize());
+            region = map(regionStart);
+            int from = (int) (offset - regionStart);
+            region.position(from);
+            if (offset == 0) return;
+            byte[] zeros = new byte[64 * 1024];
+            for (int i = from; i < region.capacity(); i += zeros.length) {
+                region.put(i, zeros, 0, Math.min(zeros.length, region.capacity() - i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal generation " + generation, e);
+        }
+    }
+
+    private MappedByteBuffer map(long start) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, start, config.getRegionSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal region at " + start, e);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close journal generation " + generation, e);
+        }
+    }
+
+    private static void putString(ByteBuffer buf, byte[] value) {
+        buf.putShort((short) value.length);
+        buf.put(value);
+    }
+}
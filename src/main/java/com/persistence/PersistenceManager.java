@@ -0,0 +1,150 @@
+package com.persistence;
+
+import com.repository.BookingStore;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Owns the data directory: restores the repositories from the latest snapshot plus the journal
+ * generations after it, then keeps journaling and periodically snapshots to bound the next replay.
+ */
+public class PersistenceManager implements Closeable {
+
+    private static final Pattern JOURNAL_FILE = Pattern.compile("journal-(\\d+)\\.log");
+
+    private final Path directory;
+    private final RoomRepository rooms;
+    private final UserRepository users;
+    private final BookingStore bookings;
+    private final MappedJournal journal;
+    private final long restoredRecords;
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PersistenceManager(Path directory, JournalConfig config, RoomRepository rooms, UserRepository users, BookingStore bookings) {
+        this.directory = directory;
+        this.rooms = rooms;
+        this.users = users;
+        this.bookings = bookings;
+
+        long fromGeneration = Snapshot.restore(directory, rooms, users, bookings);
+        JournalReplayer replayer = new JournalReplayer(rooms, users, bookings, config.getRegionSize());
+        long generation = fromGeneration;
+        long end = 0;
+        for (long journalGeneration : journalGenerations()) {
+            if (journalGeneration < fromGeneration) continue;
+            generation = journalGeneration;
+            end = replayer.replay(MappedJournal.fileOf(directory, generation));
+        }
+        this.restoredRecords = replayer.replayed();
+
+        this.journal = new MappedJournal(directory, config, generation, end);
+        if (config.getSnapshotEveryRecords() > 0) {
+            journal.onSnapshotDue(this::snapshotAsync);
+        }
+        deleteJournalsBefore(fromGeneration);
+    }
+
+    /**
+     * Restores the (empty) repositories from {@code directory} and starts journaling into it.
+     */
+    public static PersistenceManager open(Path directory, JournalConfig config, RoomRepository rooms, UserRepository users, BookingStore bookings) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create data directory " + directory, e);
+        }
+        return new PersistenceManager(directory, config, rooms, users, bookings);
+    }
+
+    public Journal journal() {
+        return journal;
+    }
+
+    /**
+     * Number of journal records replayed on top of the snapshot at startup.
+     */
+    public long restoredRecords() {
+        return restoredRecords;
+    }
+
+    /**
+     * Captures a snapshot and rolls the journal; mutations are paused only for the in-memory copy.
+     */
+    public void snapshot() {
+        Snapshot snapshot;
+        Lock pause = journal.snapshotLock();
+        pause.lock();
+        try {
+            snapshot = Snapshot.capture(journal.rotate(), rooms, users, bookings);
+        } finally {
+            pause.unlock();
+        }
+        snapshot.write(directory);
+        deleteJournalsBefore(snapshot.generation());
+    }
+
+    @Override
+    public void close() {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    private void snapshotAsync() {
+        if (!snapshotRunning.compareAndSet(false, true)) return;
+        snapshotter.execute(() -> {
+            try {
+                snapshot();
+            } finally {
+                snapshotRunning.set(false);
+            }
+        });
+    }
+
+    private List<Long> journalGenerations() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> JOURNAL_FILE.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(m -> Long.parseLong(m.group(1)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journals in " + directory, e);
+        }
+    }
+
+    private void deleteJournalsBefore(long generation) {
+        for (long old : journalGenerations()) {
+            if (old >= generation) continue;
+            try {
+                Files.deleteIfExists(MappedJournal.fileOf(directory, old));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete journal generation " + old, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.persistence;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.BookingStatus;
+import com.enums.RoomType;
+import com.repository.BookingStore;
+import com.repository.RoomCatalog;
+import com.repository.RoomRepository;
+import com.repository.UserRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact point-in-time copy of all rooms, users and bookings, plus the journal generation
+ * that continues from it. Capturing only copies primitive fields (cheap enough to do while
+ * mutations are paused); encoding and writing happen afterwards without any lock.
+ */
+public class Snapshot {
+
+    static final String FILE_NAME = "snapshot.bin";
+    private static final int MAGIC = 0x534B5950;
+    private static final int VERSION = 1;
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final long generation;
+
+    private final long catalogVersion;
+    private final int[] roomNumbers;
+    private final byte[] roomTypes;
+    private final double[] roomPrices;
+    private final long[] roomVersions;
+
+    private final String[] userIds;
+    private final int[] userBalances;
+
+    private final int[] bookingIds;
+    private final String[] bookingUsers;
+    private final int[] bookingRooms;
+    private final long[] checkIns;
+    private final long[] checkOuts;
+    private final double[] pricesPerNight;
+    private final int[] totalCosts;
+    private final long[] bookingVersions;
+    private final byte[] bookingStatuses;
+
+    private Snapshot(long generation, RoomCatalog catalog, List<User> users, List<Booking> bookings) {
+        this.generation = generation;
+
+        List<Room> rooms = catalog.rooms();
+        catalogVersion = catalog.version();
+        roomNumbers = new int[rooms.size()];
+        roomTypes = new byte[rooms.size()];
+        roomPrices = new double[rooms.size()];
+        roomVersions = new long[rooms.size()];
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            roomNumbers[i] = room.getRoomNumber();
+            roomTypes[i] = (byte) room.getRoomType().ordinal();
+            roomPrices[i] = room.getPrice();
+            roomVersions[i] = room.getCatalogVersion();
+        }
+
+        userIds = new String[users.size()];
+        userBalances = new int[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            userIds[i] = users.get(i).getId();
+            userBalances[i] = users.get(i).getBalance();
+        }
+
+        int n = bookings.size();
+        bookingIds = new int[n];
+        bookingUsers = new String[n];
+        bookingRooms = new int[n];
+        checkIns = new long[n];
+        checkOuts = new long[n];
+        pricesPerNight = new double[n];
+        totalCosts = new int[n];
+        bookingVersions = new long[n];
+        bookingStatuses = new byte[n];
+        for (int i = 0; i < n; i++) {
+            Booking b = bookings.get(i);
+            bookingIds[i] = b.getBookingId();
+            bookingUsers[i] = b.getUser().getId();
+            bookingRooms[i] = b.getRoomNumber().getRoomNumber();
+            checkIns[i] = b.getCheckIn().toEpochDay();
+            checkOuts[i] = b.getCheckOut().toEpochDay();
+            pricesPerNight[i] = b.getBookedPricePerNight();
+            totalCosts[i] = b.getTotalCost();
+            bookingVersions[i] = b.getCatalogVersion();
+            bookingStatuses[i] = (byte) b.getStatus().ordinal();
+        }
+    }
+
+    /**
+     * Copies the current state; the caller must make sure no mutation runs meanwhile.
+     */
+    public static Snapshot capture(long generation, RoomRepository rooms, UserRepository users, BookingStore bookings) {
+        return new Snapshot(generation, rooms.catalog(), users.findAll(), bookings.findAll());
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Writes the snapshot next to the journal, replacing the previous one atomically.
+     */
+    public void write(Path directory) {
+        Path target = directory.resolve(FILE_NAME);
+        Path tmp = directory.resolve(FILE_NAME + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+
+            out.writeLong(catalogVersion);
+            out.writeInt(roomNumbers.length);
+            for (int i = 0; i < roomNumbers.length; i++) {
+                out.writeInt(roomNumbers[i]);
+                out.writeByte(roomTypes[i]);
+                out.writeDouble(roomPrices[i]);
+                out.writeLong(roomVersions[i]);
+            }
+
+            out.writeInt(userIds.length);
+            for (int i = 0; i < userIds.length; i++) {
+                out.writeUTF(userIds[i]);
+                out.writeInt(userBalances[i]);
+            }
+
+            out.writeInt(bookingIds.length);
+            for (int i = 0; i < bookingIds.length; i++) {
+                out.writeInt(bookingIds[i]);
+                out.writeUTF(bookingUsers[i]);
+                out.writeInt(bookingRooms[i]);
+                out.writeLong(checkIns[i]);
+                out.writeLong(checkOuts[i]);
+                out.writeDouble(pricesPerNight[i]);
+                out.writeInt(totalCosts[i]);
+                out.writeLong(bookingVersions[i]);
+                out.writeByte(bookingStatuses[i]);
+            }
+            out.flush();
+            file.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot", e);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot publish snapshot", e);
+        }
+    }
+
+    /**
+     * Loads the latest snapshot into empty repositories and returns the journal generation to
+     * replay from, or 0 if there is no snapshot yet.
+     */
+    public static long restore(Path directory, RoomRepository rooms, UserRepository users, BookingStore bookings) {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) return 0;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unrecognized snapshot format");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            long generation = in.readLong();
+
+            long catalogVersion = in.readLong();
+            int roomCount = in.readInt();
+            List<Room> restoredRooms = new ArrayList<>(roomCount);
+            for (int i = 0; i < roomCount; i++) {
+                restoredRooms.add(new Room(in.readInt(), ROOM_TYPES[in.readByte()], in.readDouble(), in.readLong()));
+            }
+            rooms.restore(catalogVersion, restoredRooms);
+            for (int i = in.readInt(); i > 0; i--) {
+                users.add(new User(in.readUTF(), in.readInt()));
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                int bookingId = in.readInt();
+                User user = users.findById(in.readUTF()).orElseThrow();
+                Room room = rooms.findByNumber(in.readInt()).orElseThrow();
+                LocalDate checkIn = LocalDate.ofEpochDay(in.readLong());
+                LocalDate checkOut = LocalDate.ofEpochDay(in.readLong());
+                double pricePerNight = in.readDouble();
+                int totalCost = in.readInt();
+                long bookingVersion = in.readLong();
+                BookingStatus status = STATUSES[in.readByte()];
+                bookings.add(new Booking(bookingId, user, room, checkIn, checkOut, pricePerNight, totalCost, bookingVersion, status));
+            }
+            return generation;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot restore snapshot " + file, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.pricing;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Builder
+public class PricingConfig {
+
+    // First night of the rate tables; required unless horizonDays is 0
+    private final LocalDate firstNight;
+
+    // Rate tables cover this many nights from firstNight; nights outside are charged the room's base rate
+    @Builder.Default
+    private final int horizonDays = 3 * 366;
+
+    @Builder.Default
+    private final List<RateRule> rules = List.of();
+}
@@ -0,0 +1,168 @@
+package com.pricing;
+
+import com.entities.Room;
+import com.enums.RejectionReason;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.util.IntObjectMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices stays in long cents from a room's base nightly rate and the {@link RateRule}s in force.
+ * <p>
+ * Rules are resolved once, when the engine is built, into a daily rate factor (in basis points) for
+ * every night of the horizon, stored as prefix sums: one table per room type that has rules and one
+ * per room type for every room that has rules of its own. A quote is then two table reads and one
+ * multiplication however long the stay, and allocates nothing. The stay total is rounded once, half up,
+ * rather than night by night: to the cent by {@link #quote}, to the whole unit by {@link #charge}.
+ * <p>
+ * Types and rooms without rules, and nights outside the horizon, are charged the base rate.
+ */
+public class PricingEngine {
+
+    private static final long BASE = 10_000;
+    private static final long BASE_CENTS = BASE * 100;
+    private static final RoomType[] TYPES = RoomType.values();
+
+    /**
+     * Engine without rules: every night costs the room's base rate.
+     */
+    public static final PricingEngine FLAT = new PricingEngine(PricingConfig.builder().horizonDays(0).build());
+
+    private final long firstDay;
+    private final int horizon;
+    // Prefix sums of the daily factor per room type, null for a type without rules
+    private final long[][] typeFactors;
+    // The same per room type, for rooms with rules of their own
+    private final IntObjectMap<long[][]> roomFactors = new IntObjectMap<>();
+
+    public PricingEngine(PricingConfig config) {
+        if (config.getHorizonDays() < 0) {
+            throw new InvalidInputException("Pricing horizon cannot be negative.");
+        }
+        if (config.getHorizonDays() > 0 && config.getFirstNight() == null) {
+            throw new InvalidInputException("Pricing needs the first night its rate tables cover.");
+        }
+        this.horizon = config.getHorizonDays();
+        this.firstDay = horizon > 0 ? config.getFirstNight().toEpochDay() : 0;
+
+        List<RateRule> shared = new ArrayList<>();
+        IntObjectMap<List<RateRule>> byRoom = new IntObjectMap<>();
+        for (RateRule rule : config.getRules()) {
+            if (rule.getBasisPoints() <= 0) {
+                throw new InvalidInputException("Rate adjustments must be positive: " + rule.getBasisPoints());
+            }
+            if (rule.getRoomNumber() == null) {
+                shared.add(rule);
+            } else {
+                List<RateRule> own = byRoom.get(rule.getRoomNumber());
+                if (own == null) byRoom.put(rule.getRoomNumber(), own = new ArrayList<>());
+                own.add(rule);
+            }
+        }
+
+        typeFactors = new long[TYPES.length][];
+        for (RoomType type : TYPES) {
+            if (shared.stream().anyMatch(rule -> rule.appliesTo(type))) {
+                typeFactors[type.ordinal()] = prefixSums(type, shared, List.of());
+            }
+        }
+        for (RateRule rule : config.getRules()) {
+            Integer roomNumber = rule.getRoomNumber();
+            if (roomNumber == null || roomFactors.containsKey(roomNumber)) continue;
+            long[][] tables = new long[TYPES.length][];
+            for (RoomType type : TYPES) {
+                tables[type.ordinal()] = prefixSums(type, shared, byRoom.get(roomNumber));
+            }
+            roomFactors.put(roomNumber, tables);
+        }
+    }
+
+    /**
+     * Total for the stay in cents at the room's current base price.
+     */
+    public long quote(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return quote(room.getRoomNumber(), room.getRoomType(), toCents(room.getPrice()), checkIn, checkOut);
+    }
+
+    /**
+     * Total for the stay in cents for a room of the given type and base nightly rate, e.g. the rate a
+     * booking was made at.
+     */
+    public long quote(int roomNumber, RoomType roomType, long nightlyCents, LocalDate checkIn, LocalDate checkOut) {
+        return (exactTotal(roomNumber, roomType, nightlyCents, checkIn, checkOut) + BASE / 2) / BASE;
+    }
+
+    /**
+     * The stay total in whole currency units, as balances and booking totals are kept and as availability
+     * is advertised, at the room's current base price.
+     */
+    public int charge(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return charge(room.getRoomNumber(), room.getRoomType(), room.getPrice(), checkIn, checkOut);
+    }
+
+    /**
+     * The stay total in whole currency units, rounded half up from the exact total rather than from
+     * {@link #quote}'s cents; a total too large to charge is rejected.
+     */
+    public int charge(int roomNumber, RoomType roomType, double nightlyPrice, LocalDate checkIn, LocalDate checkOut) {
+        try {
+            long total = exactTotal(roomNumber, roomType, toCents(nightlyPrice), checkIn, checkOut);
+            return Math.toIntExact((total + BASE_CENTS / 2) / BASE_CENTS);
+        } catch (ArithmeticException e) {
+            throw new InvalidInputException(RejectionReason.INVALID_INPUT, "Stay total is too large to charge.");
+        }
+    }
+
+    /**
+     * Cents of a price given in currency units, as rooms are priced.
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // The stay total in cents times BASE, before any rounding
+    private long exactTotal(int roomNumber, RoomType roomType, long nightlyCents, LocalDate checkIn, LocalDate checkOut) {
+        long in = checkIn.toEpochDay();
+        long out = checkOut.toEpochDay();
+        if (out <= in) {
+            throw new InvalidInputException(RejectionReason.INVALID_DATES, "Check-out date must be after check-in date.");
+        }
+        long[][] own = roomFactors.get(roomNumber);
+        long[] factors = own != null ? own[roomType.ordinal()] : typeFactors[roomType.ordinal()];
+        return Math.multiplyExact(nightlyCents, factorSum(factors, in, out));
+    }
+
+    // Sum of the daily factors over [in, out); nights outside the horizon count at the base factor
+    private long factorSum(long[] prefix, long in, long out) {
+        long nights = out - in;
+        if (prefix == null) return Math.multiplyExact(nights, BASE);
+        int from = (int) Math.min(Math.max(in - firstDay, 0), horizon);
+        int to = (int) Math.min(Math.max(out - firstDay, 0), horizon);
+        return prefix[to] - prefix[from] + (nights - (to - from)) * BASE;
+    }
+
+    private long[] prefixSums(RoomType type, List<RateRule> shared, List<RateRule> own) {
+        long[] prefix = new long[horizon + 1];
+        for (int day = 0; day < horizon; day++) {
+            LocalDate night = LocalDate.ofEpochDay(firstDay + day);
+            long factor = BASE;
+            factor = compound(factor, shared, type, night);
+            factor = compound(factor, own, type, night);
+            prefix[day + 1] = prefix[day] + factor;
+        }
+        return prefix;
+    }
+
+    private static long compound(long factor, List<RateRule> rules, RoomType type, LocalDate night) {
+        for (RateRule rule : rules) {
+            if (rule.appliesTo(type) && rule.appliesOn(night)) {
+                factor = (factor * rule.getBasisPoints() + BASE / 2) / BASE;
+            }
+        }
+        return factor;
+    }
+}
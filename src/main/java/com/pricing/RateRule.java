@@ -0,0 +1,48 @@
+package com.pricing;
+
+import com.enums.RoomType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Adjusts the nightly rate of the nights it matches by {@code basisPoints} (10000 leaves the rate
+ * unchanged, 12500 adds 25%, 8000 takes 20% off). Unset criteria match everything, so a rule with
+ * only dates is a season for every room and one with only weekdays is a weekday rate.
+ * Rules matching the same night compound.
+ */
+@Getter
+@Builder
+public class RateRule {
+
+    // Null for every room type
+    private final RoomType roomType;
+
+    // Null for every room; set, the rule only applies to this room
+    private final Integer roomNumber;
+
+    // First night the rule applies to, null for no lower bound
+    private final LocalDate from;
+
+    // Night the rule stops applying on (exclusive), null for no upper bound
+    private final LocalDate until;
+
+    // Empty for every day of the week
+    @Builder.Default
+    private final Set<DayOfWeek> days = Set.of();
+
+    private final int basisPoints;
+
+    boolean appliesTo(RoomType type) {
+        return roomType == null || roomType == type;
+    }
+
+    boolean appliesOn(LocalDate night) {
+        return (from == null || !night.isBefore(from))
+                && (until == null || night.isBefore(until))
+                && (days.isEmpty() || days.contains(night.getDayOfWeek()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.repository;
+
+import com.entities.Booking;
+import com.enums.BookingStatus;
+import com.exceptions.InvalidInputException;
+import com.util.IntObjectMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking store holding the {@link Booking} objects themselves, in ID order and indexed by ID.
+ * The ID index and ID order are guarded internally.
+ */
+public class BookingRepository extends BookingStore {
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private final IntObjectMap<Booking> byId = new IntObjectMap<>();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    public BookingRepository() {
+        this(new OccupancyIndex());
+    }
+
+    /**
+     * Store marking its bookings in {@code occupancy}; share the index with the
+     * {@link RoomRepository} so availability search knows every room's type.
+     */
+    public BookingRepository(OccupancyIndex occupancy) {
+        this(occupancy, DEFAULT_STRIPES);
+    }
+
+    public BookingRepository(OccupancyIndex occupancy, int lockStripes) {
+        super(occupancy, lockStripes);
+    }
+
+    @Override
+    public void add(Booking booking) {
+        int roomNumber = booking.getRoomNumber().getRoomNumber();
+        ReentrantLock lock = roomLock(roomNumber);
+        lock.lock();
+        try {
+            // The schedule is the room's own, so only the ID index and order need the store-wide lock
+            schedule(roomNumber, booking);
+            indexLock.writeLock().lock();
+            try {
+                if (byId.containsKey(booking.getBookingId())) {
+                    unschedule(roomNumber, booking);
+                    throw new InvalidInputException("Booking ID " + booking.getBookingId() + " already exists.");
+                }
+                insert(booking);
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
+        seenId(booking.getBookingId());
+    }
+
+    @Override
+    protected void storeAll(List<Booking> batch) {
+        List<Booking> sorted = new ArrayList<>(batch);
+        sorted.sort(Comparator.comparingInt(Booking::getBookingId));
+        indexLock.writeLock().lock();
+        try {
+            for (int i = 0; i < sorted.size(); i++) {
+                int bookingId = sorted.get(i).getBookingId();
+                if (byId.containsKey(bookingId) || (i > 0 && sorted.get(i - 1).getBookingId() == bookingId)) {
+                    throw new InvalidInputException("Booking ID " + bookingId + " already exists.");
+                }
+            }
+            sorted.forEach(this::insert);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Booking> findById(int bookingId) {
+        indexLock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(bookingId));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void reschedule(Booking booking, LocalDate newCheckIn, LocalDate newCheckOut, int newTotalCost) {
+        int roomNumber = booking.getRoomNumber().getRoomNumber();
+        move(roomNumber, booking.getBookingId(), booking.getCheckIn(), booking.getCheckOut(), newCheckIn, newCheckOut, newTotalCost);
+        booking.setCheckIn(newCheckIn);
+        booking.setCheckOut(newCheckOut);
+        booking.setTotalCost(newTotalCost);
+    }
+
+    @Override
+    public void cancel(Booking booking) {
+        unschedule(booking.getRoomNumber().getRoomNumber(), booking.getBookingId(), booking.getCheckIn(), booking.getCheckOut());
+        booking.setStatus(BookingStatus.CANCELLED);
+    }
+
+    @Override
+    public void remove(Booking booking) {
+        int roomNumber = booking.getRoomNumber().getRoomNumber();
+        ReentrantLock lock = roomLock(roomNumber);
+        lock.lock();
+        try {
+            Booking stored;
+            indexLock.writeLock().lock();
+            try {
+                stored = byId.remove(booking.getBookingId());
+                if (stored == null) {
+                    throw new InvalidInputException("Booking ID " + booking.getBookingId() + " does not exist.");
+                }
+                bookings.remove(firstAtOrAfter(booking.getBookingId()));
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            unschedule(roomNumber, stored);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void reinstate(Booking booking) {
+        booking.setStatus(BookingStatus.CONFIRMED);
+        try {
+            schedule(booking.getRoomNumber().getRoomNumber(), booking);
+        } catch (RuntimeException e) {
+            booking.setStatus(BookingStatus.CANCELLED);
+            throw e;
+        }
+    }
+
+    /**
+     * Point-in-time copy of all bookings, oldest first.
+     */
+    @Override
+    public List<Booking> findAll() {
+        indexLock.readLock().lock();
+        try {
+            return List.copyOf(bookings);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Booking> findNewestFirst(Integer afterId, int limit) {
+        indexLock.readLock().lock();
+        try {
+            int end = afterId == null ? bookings.size() : firstAtOrAfter(afterId);
+            List<Booking> page = new ArrayList<>(Math.min(limit, end));
+            for (int i = end - 1; i >= 0 && page.size() < limit; i--) {
+                page.add(bookings.get(i));
+            }
+            return page;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        indexLock.readLock().lock();
+        try {
+            return bookings.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private void insert(Booking booking) {
+        byId.put(booking.getBookingId(), booking);
+        // IDs are allocated under each room's own lock, so bookings of rooms on other stripes can take
+        // an ID first and insert it later: they arrive slightly out of order
+        int index = bookings.size();
+        while (index > 0 && bookings.get(index - 1).getBookingId() > booking.getBookingId()) {
+            index--;
+        }
+        bookings.add(index, booking);
+    }
+
+    private int firstAtOrAfter(int bookingId) {
+        int low = 0;
+        int high = bookings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bookings.get(mid).getBookingId() < bookingId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,306 @@
+package com.repository;
+
+import com.entities.Booking;
+import com.enums.RejectionReason;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.util.LockStripes;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * What the services need from a booking storage engine. The base class owns everything that does
+ * not depend on how rows are laid out: room lock stripes, the ID allocator, one {@link RoomSchedule}
+ * per room for overlap checks (which also carries holds), the shared {@link OccupancyIndex} and the
+ * {@link MonthlyAggregates}.
+ * <p>
+ * A room's schedule may only be read or changed while holding {@link #roomLock(int)} for that room.
+ */
+public abstract class BookingStore {
+
+    protected static final int DEFAULT_STRIPES = 1024;
+
+    private final Map<Integer, RoomSchedule> schedules = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final LockStripes roomLocks;
+    private final OccupancyIndex occupancy;
+    private final MonthlyAggregates aggregates = new MonthlyAggregates();
+
+    protected BookingStore(OccupancyIndex occupancy, int lockStripes) {
+        this.occupancy = occupancy;
+        this.roomLocks = new LockStripes(lockStripes);
+    }
+
+    public abstract void add(Booking booking);
+
+    /**
+     * Adds a batch of historical bookings in one pass, e.g. from a bulk import; users are not debited.
+     * The whole batch is checked first (dates, duplicate IDs, overlaps with each other and with stored
+     * bookings) so it is stored entirely or not at all, then the room schedules and occupancy bits are
+     * built in parallel, one room per fork-join task. Every room of the batch stays locked meanwhile.
+     */
+    public void addAll(List<Booking> batch) {
+        if (batch.isEmpty()) return;
+        // Move the allocator past the batch first so live bookings cannot be handed one of its IDs
+        batch.stream().mapToInt(Booking::getBookingId).max().ifPresent(this::seenId);
+
+        // Cancelled bookings are stored for history but hold no room
+        Map<Integer, List<Booking>> byRoom = batch.parallelStream()
+                .filter(b -> !b.isCancelled())
+                .collect(Collectors.groupingByConcurrent(b -> b.getRoomNumber().getRoomNumber()));
+        List<ReentrantLock> locks = roomLocks(byRoom.keySet());
+        locks.forEach(ReentrantLock::lock);
+        try {
+            byRoom.entrySet().parallelStream().forEach(room -> checkFree(room.getKey(), room.getValue()));
+            storeAll(batch);
+            byRoom.entrySet().parallelStream().forEach(room -> {
+                for (Booking booking : room.getValue()) {
+                    schedule(room.getKey(), booking);
+                }
+            });
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    public abstract Optional<Booking> findById(int bookingId);
+
+    /**
+     * Moves a stored booking to new dates, re-keying it in its room schedule; its total cost is unchanged.
+     */
+    public void reschedule(Booking booking, LocalDate newCheckIn, LocalDate newCheckOut) {
+        reschedule(booking, newCheckIn, newCheckOut, booking.getTotalCost());
+    }
+
+    /**
+     * Moves a stored booking to new dates at a new total cost, updating its room schedule, occupancy
+     * and aggregates in place. The caller settles the difference with the user.
+     */
+    public abstract void reschedule(Booking booking, LocalDate newCheckIn, LocalDate newCheckOut, int newTotalCost);
+
+    /**
+     * Marks a stored booking cancelled and frees its dates; the row stays, so IDs and pages are stable.
+     * The caller refunds the user.
+     */
+    public abstract void cancel(Booking booking);
+
+    /**
+     * Deletes a stored booking outright and frees its dates, undoing {@link #add}: unlike {@link #cancel}
+     * no row is left. Used to roll back a booking whose journal record could not be written.
+     */
+    public abstract void remove(Booking booking);
+
+    /**
+     * Undoes {@link #cancel}: the booking is confirmed again and takes its dates back. The caller has
+     * held the room lock since the cancel, so the dates are still free.
+     */
+    public abstract void reinstate(Booking booking);
+
+    /**
+     * All bookings at the time of the call, in ID order (oldest first).
+     */
+    public abstract List<Booking> findAll();
+
+    /**
+     * Up to {@code limit} bookings with IDs below {@code afterId} (all if null), highest ID first.
+     * The cursor need not be an existing booking.
+     */
+    public abstract List<Booking> findNewestFirst(Integer afterId, int limit);
+
+    public abstract int size();
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public OccupancyIndex occupancy() {
+        return occupancy;
+    }
+
+    public MonthlyAggregates aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Lock serializing all bookings of a room; rooms hashing to the same stripe share it.
+     */
+    public ReentrantLock roomLock(int roomNumber) {
+        return roomLocks.lockFor(roomNumber);
+    }
+
+    /**
+     * Distinct locks covering all given rooms, in a fixed global order so that callers
+     * locking several rooms at once cannot deadlock with each other.
+     */
+    public List<ReentrantLock> roomLocks(Collection<Integer> roomNumbers) {
+        return roomNumbers.stream()
+                .mapToInt(Integer::intValue)
+                .map(roomLocks::stripeOf)
+                .distinct()
+                .sorted()
+                .mapToObj(roomLocks::stripe)
+                .toList();
+    }
+
+    /**
+     * Allocates the next booking ID; IDs are never reused, even across concurrent callers.
+     */
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * True if any booking of the room overlaps [checkIn, checkOut).
+     */
+    public boolean isOccupied(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        return isOccupied(roomNumber, checkIn, checkOut, null);
+    }
+
+    /**
+     * Same as {@link #isOccupied(int, LocalDate, LocalDate)} but ignores {@code ignored},
+     * which is how a booking is checked against its own room when being moved.
+     */
+    public boolean isOccupied(int roomNumber, LocalDate checkIn, LocalDate checkOut, Booking ignored) {
+        RoomSchedule schedule = schedules.get(roomNumber);
+        return schedule != null
+                && schedule.overlaps(checkIn.toEpochDay(), checkOut.toEpochDay(), ignored == null ? 0 : ignored.getBookingId());
+    }
+
+    /**
+     * Reserves [checkIn, checkOut) of the room for a hold: the dates block bookings and other holds
+     * as a booking would, but nothing is stored or counted in the aggregates. Holds are entered under
+     * their negated ID, so they are never mistaken for a booking. The caller holds the room lock and
+     * has checked that the dates are free.
+     */
+    public void hold(int roomNumber, int holdId, LocalDate checkIn, LocalDate checkOut) {
+        RoomSchedule schedule = schedules.computeIfAbsent(roomNumber, k -> new RoomSchedule());
+        if (!schedule.add(-holdId, checkIn.toEpochDay(), checkOut.toEpochDay(), null, 0)) {
+            throw new InvalidInputException("Room " + roomNumber + " already has a booking starting on " + checkIn + ".");
+        }
+        occupancy.occupy(roomNumber, checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Frees the dates of a hold entered with {@link #hold}; the caller holds the room lock.
+     */
+    public void releaseHold(int roomNumber, int holdId, LocalDate checkIn, LocalDate checkOut) {
+        RoomSchedule schedule = schedules.get(roomNumber);
+        int index = schedule == null ? -1 : schedule.indexOf(-holdId, checkIn.toEpochDay());
+        if (index < 0) {
+            throw new InvalidInputException("Hold " + holdId + " is not scheduled in room " + roomNumber + ".");
+        }
+        schedule.removeAt(index);
+        occupancy.release(roomNumber, checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Stores a booking in the dates of a hold, which is released: the dates were checked when the hold
+     * was placed, so they are not checked again. If the booking cannot be stored the hold stays.
+     */
+    public void addHeld(Booking booking, int holdId) {
+        int roomNumber = booking.getRoomNumber().getRoomNumber();
+        ReentrantLock lock = roomLock(roomNumber);
+        lock.lock();
+        try {
+            releaseHold(roomNumber, holdId, booking.getCheckIn(), booking.getCheckOut());
+            try {
+                add(booking);
+            } catch (RuntimeException e) {
+                hold(roomNumber, holdId, booking.getCheckIn(), booking.getCheckOut());
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the rows of an already validated batch, rejecting it whole if any ID is taken;
+     * room schedules are left to the caller.
+     */
+    protected abstract void storeAll(List<Booking> batch);
+
+    // Sorts one room's share of a batch by check-in and rejects it if any stay is invalid or taken
+    private void checkFree(int roomNumber, List<Booking> stays) {
+        stays.sort(Comparator.comparing(Booking::getCheckIn));
+        LocalDate previousCheckOut = LocalDate.MIN;
+        for (Booking booking : stays) {
+            if (booking.getCheckIn() == null || booking.getCheckOut() == null || !booking.getCheckOut().isAfter(booking.getCheckIn())) {
+                throw new InvalidInputException(RejectionReason.INVALID_DATES, "Booking " + booking.getBookingId() + " has invalid dates.");
+            }
+            if (booking.getCheckIn().isBefore(previousCheckOut) || isOccupied(roomNumber, booking.getCheckIn(), booking.getCheckOut())) {
+                throw new InvalidInputException(RejectionReason.OVERLAP,
+                        "Booking " + booking.getBookingId() + " overlaps another booking of room " + roomNumber + ".");
+            }
+            previousCheckOut = booking.getCheckOut();
+        }
+    }
+
+    // Keeps the allocator ahead of IDs that were assigned elsewhere (e.g. on rebuild)
+    protected void seenId(int bookingId) {
+        lastId.accumulateAndGet(bookingId, Math::max);
+    }
+
+    /**
+     * Enters a booking in its room's schedule, the occupancy bits and the monthly aggregates,
+     * counting its total under the room's current type. Cancelled bookings are not entered.
+     */
+    protected void schedule(int roomNumber, Booking booking) {
+        if (booking.isCancelled()) return;
+        schedule(roomNumber, booking.getBookingId(), booking.getCheckIn(), booking.getCheckOut(),
+                booking.getRoomNumber().getRoomType(), booking.getTotalCost());
+    }
+
+    /**
+     * Takes a booking entered with {@link #schedule(int, Booking)} out again.
+     */
+    protected void unschedule(int roomNumber, Booking booking) {
+        if (booking.isCancelled()) return;
+        unschedule(roomNumber, booking.getBookingId(), booking.getCheckIn(), booking.getCheckOut());
+    }
+
+    /**
+     * Moves a scheduled booking to new dates and revenue; it stays counted under the type it was entered with.
+     */
+    protected void move(int roomNumber, int bookingId, LocalDate checkIn, LocalDate checkOut,
+                        LocalDate newCheckIn, LocalDate newCheckOut, int newRevenue) {
+        RoomType type = unschedule(roomNumber, bookingId, checkIn, checkOut);
+        schedule(roomNumber, bookingId, newCheckIn, newCheckOut, type, newRevenue);
+    }
+
+    /**
+     * Takes a scheduled booking out of its room schedule, the occupancy bits and the aggregates,
+     * returning the type it was counted under.
+     */
+    protected RoomType unschedule(int roomNumber, int bookingId, LocalDate checkIn, LocalDate checkOut) {
+        RoomSchedule schedule = schedules.get(roomNumber);
+        int index = schedule == null ? -1 : schedule.indexOf(bookingId, checkIn.toEpochDay());
+        if (index < 0) {
+            throw new InvalidInputException("Booking ID " + bookingId + " is not scheduled in room " + roomNumber + ".");
+        }
+        RoomType type = schedule.typeAt(index);
+        int revenue = schedule.revenueAt(index);
+        schedule.removeAt(index);
+        occupancy.release(roomNumber, checkIn.toEpochDay(), checkOut.toEpochDay());
+        aggregates.remove(type, checkIn, checkOut, revenue);
+        return type;
+    }
+
+    private void schedule(int roomNumber, int bookingId, LocalDate checkIn, LocalDate checkOut, RoomType type, int revenue) {
+        RoomSchedule schedule = schedules.computeIfAbsent(roomNumber, k -> new RoomSchedule());
+        if (!schedule.add(bookingId, checkIn.toEpochDay(), checkOut.toEpochDay(), type, revenue)) {
+            throw new InvalidInputException("Room " + roomNumber + " already has a booking starting on " + checkIn + ".");
+        }
+        occupancy.occupy(roomNumber, checkIn.toEpochDay(), checkOut.toEpochDay());
+        aggregates.add(type, checkIn, checkOut, revenue);
+    }
+}
@@ -0,0 +1,463 @@
+package com.repository;
+
+import com.entities.Booking;
+import com.entities.Room;
+import com.entities.User;
+import com.enums.BookingStatus;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.util.IntIntMap;
+import com.util.IntObjectMap;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking store keeping one row per booking, in ID order, in parallel primitive columns: room number, user index,
+ * check-in and check-out epoch days, nightly price and total in cents, the room catalog version the
+ * booking was priced against and its status. That is 45 bytes per booking
+ * (plus 14 to 27 for the ID index) against roughly 150 for a {@link Booking} with its boxed price and
+ * two {@link LocalDate}s, and scans walk contiguous arrays instead of chasing pointers.
+ * <p>
+ * Users and room revisions are interned in dictionaries, so the same objects come back in every view; a
+ * view's room is the revision its booking was priced against, found by the row's catalog version.
+ * {@link Booking}s are only materialized on lookup and are detached copies: change a booking's dates
+ * through {@link #reschedule} and {@link #cancel}, not by setting them on a view.
+ */
+public class ColumnarBookingStore extends BookingStore {
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final byte CONFIRMED = (byte) BookingStatus.CONFIRMED.ordinal();
+    private static final byte CANCELLED = (byte) BookingStatus.CANCELLED.ordinal();
+
+    private int[] bookingIds;
+    private int[] roomNumbers;
+    private int[] userIndexes;
+    private int[] checkIns;
+    private int[] checkOuts;
+    private long[] pricesPerNightCents;
+    private long[] totalsCents;
+    private long[] catalogVersions;
+    private byte[] statuses;
+    private int size;
+
+    private final IntIntMap rowById = new IntIntMap();
+    private final List<User> userDictionary = new ArrayList<>();
+    private final Map<User, Integer> userIndex = new HashMap<>();
+    // Revisions of each room seen so far, oldest catalog version first
+    private final IntObjectMap<List<Room>> roomDictionary = new IntObjectMap<>();
+    private final ReadWriteLock columnsLock = new ReentrantReadWriteLock();
+
+    public ColumnarBookingStore() {
+        this(new OccupancyIndex());
+    }
+
+    /**
+     * Store marking its bookings in {@code occupancy}; share the index with the
+     * {@link RoomRepository} so availability search knows every room's type.
+     */
+    public ColumnarBookingStore(OccupancyIndex occupancy) {
+        this(occupancy, DEFAULT_STRIPES, 1024);
+    }
+
+    public ColumnarBookingStore(OccupancyIndex occupancy, int lockStripes, int initialCapacity) {
+        super(occupancy, lockStripes);
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    @Override
+    public void add(Booking booking) {
+        Room room = booking.getRoomNumber();
+        int roomNumber = room.getRoomNumber();
+        ReentrantLock lock = roomLock(roomNumber);
+        lock.lock();
+        try {
+            // The schedule is the room's own, so only the rows and ID index need the store-wide lock
+            schedule(roomNumber, booking);
+            columnsLock.writeLock().lock();
+            try {
+                if (rowById.containsKey(booking.getBookingId())) {
+                    unschedule(roomNumber, booking);
+                    throw new InvalidInputException("Booking ID " + booking.getBookingId() + " already exists.");
+                }
+                append(booking, roomNumber);
+                internRoom(room);
+            } finally {
+                columnsLock.writeLock().unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
+        seenId(booking.getBookingId());
+    }
+
+    @Override
+    protected void storeAll(List<Booking> batch) {
+        List<Booking> sorted = new ArrayList<>(batch);
+        sorted.sort(Comparator.comparingInt(Booking::getBookingId));
+        columnsLock.writeLock().lock();
+        try {
+            for (int i = 0; i < sorted.size(); i++) {
+                int bookingId = sorted.get(i).getBookingId();
+                if (rowById.containsKey(bookingId) || (i > 0 && sorted.get(i - 1).getBookingId() == bookingId)) {
+                    throw new InvalidInputException("Booking ID " + bookingId + " already exists.");
+                }
+            }
+            for (Booking booking : sorted) {
+                Room room = booking.getRoomNumber();
+                append(booking, room.getRoomNumber());
+                internRoom(room);
+            }
+        } finally {
+            columnsLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Booking> findById(int bookingId) {
+        columnsLock.readLock().lock();
+        try {
+            int row = rowById.get(bookingId);
+            return row == IntIntMap.MISSING ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            columnsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the stored row to new dates and cost and updates {@code booking}, the caller's view, to match.
+     */
+    @Override
+    public void reschedule(Booking booking, LocalDate newCheckIn, LocalDate newCheckOut, int newTotalCost) {
+        int roomNumber;
+        LocalDate checkIn;
+        LocalDate checkOut;
+        columnsLock.writeLock().lock();
+        try {
+            int row = rowOf(booking.getBookingId());
+            roomNumber = roomNumbers[row];
+            checkIn = LocalDate.ofEpochDay(checkIns[row]);
+            checkOut = LocalDate.ofEpochDay(checkOuts[row]);
+            checkIns[row] = Math.toIntExact(newCheckIn.toEpochDay());
+            checkOuts[row] = Math.toIntExact(newCheckOut.toEpochDay());
+            totalsCents[row] = newTotalCost * 100L;
+        } finally {
+            columnsLock.writeLock().unlock();
+        }
+        // The caller holds the room lock, which is all the schedule needs
+        move(roomNumber, booking.getBookingId(), checkIn, checkOut, newCheckIn, newCheckOut, newTotalCost);
+        booking.setCheckIn(newCheckIn);
+        booking.setCheckOut(newCheckOut);
+        booking.setTotalCost(newTotalCost);
+    }
+
+    /**
+     * Flags the stored row cancelled and frees its dates; {@code booking}, the caller's view, is updated to match.
+     */
+    @Override
+    public void cancel(Booking booking) {
+        int roomNumber;
+        LocalDate checkIn;
+        LocalDate checkOut;
+        columnsLock.writeLock().lock();
+        try {
+            int row = rowOf(booking.getBookingId());
+            roomNumber = roomNumbers[row];
+            checkIn = LocalDate.ofEpochDay(checkIns[row]);
+            checkOut = LocalDate.ofEpochDay(checkOuts[row]);
+            statuses[row] = CANCELLED;
+        } finally {
+            columnsLock.writeLock().unlock();
+        }
+        unschedule(roomNumber, booking.getBookingId(), checkIn, checkOut);
+        booking.setStatus(BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Deletes the row, shifting later rows down; rolled-back bookings are the newest, so few rows move.
+     */
+    @Override
+    public void remove(Booking booking) {
+        ReentrantLock lock = roomLock(booking.getRoomNumber().getRoomNumber());
+        lock.lock();
+        try {
+            Booking stored;
+            columnsLock.writeLock().lock();
+            try {
+                int row = rowOf(booking.getBookingId());
+                stored = materialize(row);
+                shiftDown(row);
+            } finally {
+                columnsLock.writeLock().unlock();
+            }
+            unschedule(stored.getRoomNumber().getRoomNumber(), stored);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void reinstate(Booking booking) {
+        Booking stored = setStatus(booking.getBookingId(), CONFIRMED);
+        try {
+            schedule(stored.getRoomNumber().getRoomNumber(), stored);
+        } catch (RuntimeException e) {
+            setStatus(booking.getBookingId(), CANCELLED);
+            throw e;
+        }
+        booking.setStatus(BookingStatus.CONFIRMED);
+    }
+
+    /**
+     * All bookings added so far, in ID order, materialized one at a time as the list is read.
+     * Rows added later are not included and dates reflect the row at the moment it is read;
+     * use {@link #findNewestFirst} or {@link #forEachRow} for a view that is consistent under concurrent adds.
+     */
+    @Override
+    public List<Booking> findAll() {
+        int rows = size();
+        return new AbstractList<>() {
+            @Override
+            public Booking get(int index) {
+                if (index < 0 || index >= rows) throw new IndexOutOfBoundsException(index);
+                columnsLock.readLock().lock();
+                try {
+                    return materialize(index);
+                } finally {
+                    columnsLock.readLock().unlock();
+                }
+            }
+
+            @Override
+            public int size() {
+                return rows;
+            }
+        };
+    }
+
+    @Override
+    public List<Booking> findNewestFirst(Integer afterId, int limit) {
+        columnsLock.readLock().lock();
+        try {
+            int end = afterId == null ? size : firstRowAtOrAfter(afterId);
+            List<Booking> page = new ArrayList<>(Math.min(limit, end));
+            for (int row = end - 1; row >= 0 && page.size() < limit; row--) {
+                page.add(materialize(row));
+            }
+            return page;
+        } finally {
+            columnsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits every confirmed row, oldest first, straight from the columns without materializing {@link Booking}s;
+     * the way to aggregate over many bookings. Blocks writers for the duration of the scan.
+     */
+    public void forEachRow(RowVisitor visitor) {
+        columnsLock.readLock().lock();
+        try {
+            for (int row = 0; row < size; row++) {
+                if (statuses[row] != CONFIRMED) continue;
+                visitor.visit(bookingIds[row], roomNumbers[row], roomAt(roomNumbers[row], catalogVersions[row]).getRoomType(),
+                        checkIns[row], checkOuts[row], pricesPerNightCents[row], totalsCents[row]);
+            }
+        } finally {
+            columnsLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        columnsLock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            columnsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Receives one row; {@code roomType} is the type of the room revision the booking was priced against.
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int bookingId, int roomNumber, RoomType roomType, int checkInDay, int checkOutDay,
+                   long pricePerNightCents, long totalCents);
+    }
+
+    // Returns the row as it is with the new status
+    private Booking setStatus(int bookingId, byte status) {
+        columnsLock.writeLock().lock();
+        try {
+            int row = rowOf(bookingId);
+            statuses[row] = status;
+            return materialize(row);
+        } finally {
+            columnsLock.writeLock().unlock();
+        }
+    }
+
+    private void append(Booking booking, int roomNumber) {
+        if (size == bookingIds.length) grow();
+        // IDs are allocated under each room's own lock, so bookings on other stripes can arrive slightly out of order:
+        // shift the few later rows up by one to keep the columns sorted by ID
+        int row = size;
+        while (row > 0 && bookingIds[row - 1] > booking.getBookingId()) {
+            row--;
+        }
+        if (row < size) {
+            shiftUp(row);
+        }
+        bookingIds[row] = booking.getBookingId();
+        roomNumbers[row] = roomNumber;
+        userIndexes[row] = internUser(booking.getUser());
+        checkIns[row] = Math.toIntExact(booking.getCheckIn().toEpochDay());
+        checkOuts[row] = Math.toIntExact(booking.getCheckOut().toEpochDay());
+        pricesPerNightCents[row] = Math.round(booking.getBookedPricePerNight() * 100);
+        totalsCents[row] = booking.getTotalCost() * 100L;
+        catalogVersions[row] = booking.getCatalogVersion();
+        statuses[row] = (byte) booking.getStatus().ordinal();
+        rowById.put(booking.getBookingId(), row);
+        size++;
+    }
+
+    private void shiftUp(int from) {
+        int count = size - from;
+        System.arraycopy(bookingIds, from, bookingIds, from + 1, count);
+        System.arraycopy(roomNumbers, from, roomNumbers, from + 1, count);
+        System.arraycopy(userIndexes, from, userIndexes, from + 1, count);
+        System.arraycopy(checkIns, from, checkIns, from + 1, count);
+        System.arraycopy(checkOuts, from, checkOuts, from + 1, count);
+        System.arraycopy(pricesPerNightCents, from, pricesPerNightCents, from + 1, count);
+        System.arraycopy(totalsCents, from, totalsCents, from + 1, count);
+        System.arraycopy(catalogVersions, from, catalogVersions, from + 1, count);
+        System.arraycopy(statuses, from, statuses, from + 1, count);
+        for (int row = from + 1; row <= size; row++) {
+            rowById.put(bookingIds[row], row);
+        }
+    }
+
+    // Drops the row and closes the gap
+    private void shiftDown(int row) {
+        rowById.remove(bookingIds[row]);
+        int count = size - row - 1;
+        System.arraycopy(bookingIds, row + 1, bookingIds, row, count);
+        System.arraycopy(roomNumbers, row + 1, roomNumbers, row, count);
+        System.arraycopy(userIndexes, row + 1, userIndexes, row, count);
+        System.arraycopy(checkIns, row + 1, checkIns, row, count);
+        System.arraycopy(checkOuts, row + 1, checkOuts, row, count);
+        System.arraycopy(pricesPerNightCents, row + 1, pricesPerNightCents, row, count);
+        System.arraycopy(totalsCents, row + 1, totalsCents, row, count);
+        System.arraycopy(catalogVersions, row + 1, catalogVersions, row, count);
+        System.arraycopy(statuses, row + 1, statuses, row, count);
+        size--;
+        for (int moved = row; moved < size; moved++) {
+            rowById.put(bookingIds[moved], moved);
+        }
+    }
+
+    private int rowOf(int bookingId) {
+        int row = rowById.get(bookingId);
+        if (row == IntIntMap.MISSING) {
+            throw new InvalidInputException("Booking ID " + bookingId + " does not exist.");
+        }
+        return row;
+    }
+
+    private int firstRowAtOrAfter(int bookingId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bookingIds[mid] < bookingId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int internUser(User user) {
+        Integer index = userIndex.get(user);
+        if (index == null) {
+            index = userDictionary.size();
+            userDictionary.add(user);
+            userIndex.put(user, index);
+        }
+        return index;
+    }
+
+    private void internRoom(Room room) {
+        List<Room> revisions = roomDictionary.get(room.getRoomNumber());
+        if (revisions == null) {
+            revisions = new ArrayList<>(1);
+            roomDictionary.put(room.getRoomNumber(), revisions);
+        }
+        int i = revisions.size();
+        while (i > 0 && revisions.get(i - 1).getCatalogVersion() > room.getCatalogVersion()) {
+            i--;
+        }
+        if (i == 0 || revisions.get(i - 1).getCatalogVersion() != room.getCatalogVersion()) {
+            revisions.add(i, room);
+        }
+    }
+
+    // The latest revision published at or before the version, or the oldest for rows older than all of them
+    private Room roomAt(int roomNumber, long catalogVersion) {
+        List<Room> revisions = roomDictionary.get(roomNumber);
+        for (int i = revisions.size() - 1; i > 0; i--) {
+            if (revisions.get(i).getCatalogVersion() <= catalogVersion) return revisions.get(i);
+        }
+        return revisions.get(0);
+    }
+
+    private Booking materialize(int row) {
+        return new Booking(
+                bookingIds[row],
+                userDictionary.get(userIndexes[row]),
+                roomAt(roomNumbers[row], catalogVersions[row]),
+                LocalDate.ofEpochDay(checkIns[row]),
+                LocalDate.ofEpochDay(checkOuts[row]),
+                pricesPerNightCents[row] / 100.0,
+                (int) (totalsCents[row] / 100),
+                catalogVersions[row],
+                STATUSES[statuses[row]]);
+    }
+
+    private void allocate(int capacity) {
+        bookingIds = new int[capacity];
+        roomNumbers = new int[capacity];
+        userIndexes = new int[capacity];
+        checkIns = new int[capacity];
+        checkOuts = new int[capacity];
+        pricesPerNightCents = new long[capacity];
+        totalsCents = new long[capacity];
+        catalogVersions = new long[capacity];
+        statuses = new byte[capacity];
+    }
+
+    private void grow() {
+        int capacity = bookingIds.length + (bookingIds.length >> 1);
+        bookingIds = Arrays.copyOf(bookingIds, capacity);
+        roomNumbers = Arrays.copyOf(roomNumbers, capacity);
+        userIndexes = Arrays.copyOf(userIndexes, capacity);
+        checkIns = Arrays.copyOf(checkIns, capacity);
+        checkOuts = Arrays.copyOf(checkOuts, capacity);
+        pricesPerNightCents = Arrays.copyOf(pricesPerNightCents, capacity);
+        totalsCents = Arrays.copyOf(totalsCents, capacity);
+        catalogVersions = Arrays.copyOf(catalogVersions, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+}
@@ -0,0 +1,89 @@
+package com.repository;
+
+import com.enums.RoomType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Booked nights and revenue per {@link RoomType} per calendar month, maintained as bookings are
+ * stored, moved and removed, so a monthly report reads two counters instead of scanning bookings.
+ * <p>
+ * A stay crossing a month boundary is split by nights; its revenue is split in proportion, rounding
+ * so the monthly shares always add up to the booking's total. Counters are updated atomically, so
+ * callers only need the room lock they already hold for the booking itself.
+ */
+public class MonthlyAggregates {
+
+    private static final RoomType[] TYPES = RoomType.values();
+    // Per month: [nights, revenue] for each room type, by ordinal
+    private static final int FIELDS = 2;
+
+    private final Map<Integer, AtomicLongArray> months = new ConcurrentHashMap<>();
+
+    void add(RoomType type, LocalDate checkIn, LocalDate checkOut, int revenue) {
+        apply(type, checkIn, checkOut, revenue, 1);
+    }
+
+    void remove(RoomType type, LocalDate checkIn, LocalDate checkOut, int revenue) {
+        apply(type, checkIn, checkOut, revenue, -1);
+    }
+
+    public long bookedNights(RoomType type, YearMonth month) {
+        AtomicLongArray counters = months.get(key(month));
+        return counters == null ? 0 : counters.get(type.ordinal() * FIELDS);
+    }
+
+    public long revenue(RoomType type, YearMonth month) {
+        AtomicLongArray counters = months.get(key(month));
+        return counters == null ? 0 : counters.get(type.ordinal() * FIELDS + 1);
+    }
+
+    /**
+     * The part of a stay's revenue earned on the nights it spends in [from, to), split the same way
+     * as the monthly counters so that month-aligned ranges agree with them exactly.
+     */
+    public static long revenueWithin(int revenue, LocalDate checkIn, LocalDate checkOut, LocalDate from, LocalDate to) {
+        return revenueWithin(revenue, checkIn.toEpochDay(), checkOut.toEpochDay(), from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * {@link #revenueWithin(int, LocalDate, LocalDate, LocalDate, LocalDate)} over epoch days.
+     */
+    public static long revenueWithin(int revenue, long checkInDay, long checkOutDay, long fromDay, long toDay) {
+        long nights = checkOutDay - checkInDay;
+        long start = Math.clamp(fromDay - checkInDay, 0, nights);
+        long end = Math.clamp(toDay - checkInDay, 0, nights);
+        return end <= start ? 0 : revenue * end / nights - revenue * start / nights;
+    }
+
+    private void apply(RoomType type, LocalDate checkIn, LocalDate checkOut, int revenue, int sign) {
+        if (type == null) return;
+        long nights = checkOut.toEpochDay() - checkIn.toEpochDay();
+        long counted = 0;
+        long revenueCounted = 0;
+        LocalDate monthStart = checkIn.withDayOfMonth(1);
+        while (counted < nights) {
+            LocalDate nextMonth = monthStart.plusMonths(1);
+            long until = Math.min(nextMonth.toEpochDay(), checkOut.toEpochDay());
+            counted = until - checkIn.toEpochDay();
+            // Share of the revenue for all nights so far, minus what earlier months already got
+            long revenueSoFar = revenue * counted / nights;
+            long nightsInMonth = until - Math.max(monthStart.toEpochDay(), checkIn.toEpochDay());
+
+            AtomicLongArray counters = months.computeIfAbsent(key(YearMonth.from(monthStart)),
+                    k -> new AtomicLongArray(TYPES.length * FIELDS));
+            counters.addAndGet(type.ordinal() * FIELDS, sign * nightsInMonth);
+            counters.addAndGet(type.ordinal() * FIELDS + 1, sign * (revenueSoFar - revenueCounted));
+            revenueCounted = revenueSoFar;
+            monthStart = nextMonth;
+        }
+    }
+
+    private static int key(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,244 @@
+package com.repository;
+
+import com.entities.Room;
+import com.enums.RoomType;
+import com.util.IntIntMap;
+import com.util.IntObjectMap;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Day-granular occupancy bitmaps for availability search.
+ * <p>
+ * Every registered room gets a dense slot; for each epoch day there is one bitset over
+ * all slots (bit set = room occupied that night), and each {@link RoomType} has a
+ * membership bitset over the same slots. A range query is then the type mask with the
+ * day bitsets of the stay OR-ed out, 64 rooms per word, without touching any booking.
+ * <p>
+ * Bits are flipped atomically, so callers only need the room lock they already hold for
+ * the booking itself; a search running concurrently with bookings is advisory and the
+ * booking path still does its own conflict check.
+ */
+public class OccupancyIndex {
+
+    private final IntIntMap slotsByRoom = new IntIntMap();
+    private final Map<RoomType, long[]> typeMasks = new EnumMap<>(RoomType.class);
+    // Epoch day -> occupied slots; days are only added, under the write lock, so lookups need just the read lock
+    private final IntObjectMap<AtomicLongArray> days = new IntObjectMap<>();
+    // Structural changes (new slots, type moves, new days) take the write lock, bit flips and queries the read lock
+    private final ReadWriteLock structure = new ReentrantReadWriteLock();
+    private int[] roomsBySlot = new int[64];
+    private int slotCount;
+
+    public OccupancyIndex() {
+        for (RoomType type : RoomType.values()) {
+            typeMasks.put(type, new long[1]);
+        }
+    }
+
+    /**
+     * Registers a room under its type, or moves an already registered room to a new type.
+     */
+    public void registerRoom(int roomNumber, RoomType type) {
+        structure.writeLock().lock();
+        try {
+            int slot = slotOf(roomNumber);
+            if (slot < 0) {
+                slot = allocateSlot(roomNumber);
+            }
+            for (long[] mask : typeMasks.values()) {
+                mask[slot >>> 6] &= ~(1L << slot);
+            }
+            if (type != null) {
+                typeMasks.get(type)[slot >>> 6] |= 1L << slot;
+            }
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers many rooms under one lock acquisition, e.g. for a bulk import.
+     */
+    public void registerRooms(List<Room> rooms) {
+        structure.writeLock().lock();
+        try {
+            for (Room room : rooms) {
+                int slot = slotOf(room.getRoomNumber());
+                if (slot < 0) {
+                    slot = allocateSlot(room.getRoomNumber());
+                }
+                for (long[] mask : typeMasks.values()) {
+                    mask[slot >>> 6] &= ~(1L << slot);
+                }
+                typeMasks.get(room.getRoomType())[slot >>> 6] |= 1L << slot;
+            }
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of rooms currently registered under the type.
+     */
+    public int roomCount(RoomType type) {
+        structure.readLock().lock();
+        try {
+            int count = 0;
+            for (long word : typeMasks.get(type)) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the nights [fromDay, toDay) as occupied for the room.
+     */
+    public void occupy(int roomNumber, long fromDay, long toDay) {
+        int slot = slotFor(roomNumber);
+        addDays(fromDay, toDay);
+        structure.readLock().lock();
+        try {
+            int word = slot >>> 6;
+            long bit = 1L << slot;
+            for (long day = fromDay; day < toDay; day++) {
+                days.get(dayKey(day)).getAndAccumulate(word, bit, (current, b) -> current | b);
+            }
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the nights [fromDay, toDay) as free again for the room.
+     */
+    public void release(int roomNumber, long fromDay, long toDay) {
+        structure.readLock().lock();
+        try {
+            int slot = slotOf(roomNumber);
+            if (slot < 0) return;
+            int word = slot >>> 6;
+            long bit = ~(1L << slot);
+            for (long day = fromDay; day < toDay; day++) {
+                AtomicLongArray bits = days.get(dayKey(day));
+                if (bits != null) {
+                    bits.getAndAccumulate(word, bit, (current, b) -> current & b);
+                }
+            }
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    /**
+     * Room numbers of the given type that are free for every night in [fromDay, toDay).
+     */
+    public int[] findFree(RoomType type, long fromDay, long toDay) {
+        structure.readLock().lock();
+        try {
+            long[] free = typeMasks.get(type).clone();
+            for (long day = fromDay; day < toDay; day++) {
+                AtomicLongArray bits = days.get(dayKey(day));
+                if (bits == null) continue;
+                for (int w = 0; w < free.length; w++) {
+                    free[w] &= ~bits.get(w);
+                }
+            }
+
+            int count = 0;
+            for (long word : free) {
+                count += Long.bitCount(word);
+            }
+            int[] result = new int[count];
+            int i = 0;
+            for (int w = 0; w < free.length; w++) {
+                for (long word = free[w]; word != 0; word &= word - 1) {
+                    result[i++] = roomsBySlot[(w << 6) + Long.numberOfTrailingZeros(word)];
+                }
+            }
+            return result;
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    // Bookings can reference rooms the catalog never registered (e.g. on rebuild); give them an untyped slot
+    private int slotFor(int roomNumber) {
+        structure.readLock().lock();
+        try {
+            int slot = slotOf(roomNumber);
+            if (slot >= 0) return slot;
+        } finally {
+            structure.readLock().unlock();
+        }
+        structure.writeLock().lock();
+        try {
+            int slot = slotOf(roomNumber);
+            return slot >= 0 ? slot : allocateSlot(roomNumber);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    private int slotOf(int roomNumber) {
+        return slotsByRoom.get(roomNumber);
+    }
+
+    // Gives every night in [fromDay, toDay) its bitset, taking the write lock only if one is missing
+    private void addDays(long fromDay, long toDay) {
+        structure.readLock().lock();
+        try {
+            long day = fromDay;
+            while (day < toDay && days.containsKey(dayKey(day))) day++;
+            if (day == toDay) return;
+        } finally {
+            structure.readLock().unlock();
+        }
+        structure.writeLock().lock();
+        try {
+            for (long day = fromDay; day < toDay; day++) {
+                if (!days.containsKey(dayKey(day))) {
+                    days.put(dayKey(day), new AtomicLongArray(roomsBySlot.length >>> 6));
+                }
+            }
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    private static int dayKey(long epochDay) {
+        return Math.toIntExact(epochDay);
+    }
+
+    private int allocateSlot(int roomNumber) {
+        int slot = slotCount++;
+        if (slot == roomsBySlot.length) {
+            grow(roomsBySlot.length << 1);
+        }
+        roomsBySlot[slot] = roomNumber;
+        slotsByRoom.put(roomNumber, slot);
+        return slot;
+    }
+
+    private void grow(int capacity) {
+        roomsBySlot = Arrays.copyOf(roomsBySlot, capacity);
+        int words = capacity >>> 6;
+        typeMasks.replaceAll((type, mask) -> Arrays.copyOf(mask, words));
+        days.replaceAll(bits -> {
+            AtomicLongArray grown = new AtomicLongArray(words);
+            for (int w = 0; w < bits.length(); w++) {
+                grown.set(w, bits.get(w));
+            }
+            return grown;
+        });
+    }
+}
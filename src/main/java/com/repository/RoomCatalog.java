@@ -0,0 +1,132 @@
+package com.repository;
+
+import com.entities.Room;
+import com.exceptions.InvalidInputException;
+import com.util.IntIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable, versioned snapshot of the room catalog: rooms in creation order plus an index from
+ * room number to position. A change builds a new catalog with the next version; the number index
+ * is shared with the previous version when positions did not change.
+ */
+public final class RoomCatalog {
+
+    static final RoomCatalog EMPTY = new RoomCatalog(0, new Room[0], new IntIntMap());
+
+    private final long version;
+    private final Room[] rooms;
+    // Never modified once the catalog is published
+    private final IntIntMap positionByNumber;
+
+    private RoomCatalog(long version, Room[] rooms, IntIntMap positionByNumber) {
+        this.version = version;
+        this.rooms = rooms;
+        this.positionByNumber = positionByNumber;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Optional<Room> find(int roomNumber) {
+        int position = positionByNumber.get(roomNumber);
+        return position == IntIntMap.MISSING ? Optional.empty() : Optional.of(rooms[position]);
+    }
+
+    public boolean contains(int roomNumber) {
+        return positionByNumber.containsKey(roomNumber);
+    }
+
+    /**
+     * All rooms, oldest first, as an unmodifiable view of this version.
+     */
+    public List<Room> rooms() {
+        return Collections.unmodifiableList(Arrays.asList(rooms));
+    }
+
+    public int size() {
+        return rooms.length;
+    }
+
+    /**
+     * Up to {@code limit} rooms, newest first, starting after room {@code afterRoomNumber}
+     * (or with the newest room if null).
+     */
+    public List<Room> findNewestFirst(Integer afterRoomNumber, int limit) {
+        int end = rooms.length;
+        if (afterRoomNumber != null) {
+            end = positionByNumber.get(afterRoomNumber);
+            if (end == IntIntMap.MISSING) {
+                throw new InvalidInputException("Unknown cursor: room " + afterRoomNumber + " does not exist.");
+            }
+        }
+        List<Room> page = new ArrayList<>(Math.min(limit, end));
+        for (int i = end - 1; i >= 0 && page.size() < limit; i--) {
+            page.add(rooms[i]);
+        }
+        return page;
+    }
+
+    /**
+     * Next version with {@code added} appended; their numbers must not be in the catalog yet.
+     */
+    RoomCatalog withAdded(List<Room> added) {
+        long next = version + 1;
+        Room[] grown = Arrays.copyOf(rooms, rooms.length + added.size());
+        IntIntMap positions = new IntIntMap(grown.length);
+        for (int i = 0; i < rooms.length; i++) {
+            positions.put(rooms[i].getRoomNumber(), i);
+        }
+        for (int i = rooms.length; i < grown.length; i++) {
+            grown[i] = added.get(i - rooms.length).withCatalogVersion(next);
+            positions.put(grown[i].getRoomNumber(), i);
+        }
+        return new RoomCatalog(next, grown, positions);
+    }
+
+    /**
+     * The catalog {@code added.size()} versions on, as if each room had been added on its own in
+     * order, but built with one copy; their numbers must not be in the catalog yet.
+     */
+    RoomCatalog withAddedAll(List<Room> added) {
+        Room[] grown = Arrays.copyOf(rooms, rooms.length + added.size());
+        IntIntMap positions = new IntIntMap(grown.length);
+        for (int i = 0; i < rooms.length; i++) {
+            positions.put(rooms[i].getRoomNumber(), i);
+        }
+        for (int i = rooms.length; i < grown.length; i++) {
+            grown[i] = added.get(i - rooms.length).withCatalogVersion(version + 1 + i - rooms.length);
+            positions.put(grown[i].getRoomNumber(), i);
+        }
+        return new RoomCatalog(version + added.size(), grown, positions);
+    }
+
+    /**
+     * Next version with the stored room of the same number replaced by {@code revision}.
+     */
+    RoomCatalog withReplaced(Room revision) {
+        long next = version + 1;
+        Room[] copy = rooms.clone();
+        copy[positionByNumber.get(revision.getRoomNumber())] = revision.withCatalogVersion(next);
+        return new RoomCatalog(next, copy, positionByNumber);
+    }
+
+    /**
+     * A catalog at {@code version} holding {@code rooms} as they are, revisions included; used to restore a snapshot.
+     */
+    static RoomCatalog restored(long version, List<Room> rooms) {
+        IntIntMap positions = new IntIntMap(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            if (positions.put(rooms.get(i).getRoomNumber(), i) != IntIntMap.MISSING) {
+                throw new InvalidInputException("Room " + rooms.get(i).getRoomNumber() + " already exists.");
+            }
+        }
+        return new RoomCatalog(version, rooms.toArray(new Room[0]), positions);
+    }
+}
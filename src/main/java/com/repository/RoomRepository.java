@@ -0,0 +1,196 @@
+package com.repository;
+
+import com.entities.Room;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.util.IntIntMap;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Room catalog indexed by room number, keeping creation order for listings.
+ * <p>
+ * The catalog is published as immutable, versioned {@link RoomCatalog} snapshots: reads take the
+ * current snapshot without locking, and every change builds the next version and swaps it in.
+ * Changes are serialized among themselves and copy the catalog, which suits a catalog that is read
+ * on every request and changed by an administrator; bulk loads should use {@link #addAll}.
+ */
+public class RoomRepository {
+
+    private volatile RoomCatalog catalog = RoomCatalog.EMPTY;
+    // The version before the last change, for revert; guarded by writeLock
+    private RoomCatalog previous = RoomCatalog.EMPTY;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final OccupancyIndex occupancy;
+
+    public RoomRepository() {
+        this(new OccupancyIndex());
+    }
+
+    /**
+     * Catalog registering each room's type in {@code occupancy}, the index shared with the {@link BookingRepository}.
+     */
+    public RoomRepository(OccupancyIndex occupancy) {
+        this.occupancy = occupancy;
+    }
+
+    /**
+     * The current version of the catalog; it never changes, so several reads against it are consistent.
+     */
+    public RoomCatalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Serializes catalog changes; held across a change and its journal record so that {@link #revert}
+     * can take the change back exactly.
+     */
+    public Lock changeLock() {
+        return writeLock;
+    }
+
+    public Optional<Room> findByNumber(int roomNumber) {
+        return catalog.find(roomNumber);
+    }
+
+    /**
+     * Stores the room and returns it as published, stamped with its catalog version.
+     */
+    public Room add(Room room) {
+        writeLock.lock();
+        try {
+            if (catalog.contains(room.getRoomNumber())) {
+                throw new InvalidInputException("Room " + room.getRoomNumber() + " already exists. Use update instead.");
+            }
+            occupancy.registerRoom(room.getRoomNumber(), room.getRoomType());
+            previous = catalog;
+            catalog = catalog.withAdded(List.of(room));
+            return catalog.find(room.getRoomNumber()).orElseThrow();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds many rooms as one new catalog version, without the per-room copies of {@link #add};
+     * rejected whole if any room number is taken or repeated.
+     */
+    public void addAll(List<Room> batch) {
+        writeLock.lock();
+        try {
+            IntIntMap seen = new IntIntMap(batch.size());
+            for (Room room : batch) {
+                if (room.getRoomType() == null || room.getPrice() == null || room.getRoomNumber() <= 0 || room.getPrice() <= 0) {
+                    throw new InvalidInputException("Invalid room " + room.getRoomNumber() + ": ID and Price must be positive, Type cannot be null.");
+                }
+                if (catalog.contains(room.getRoomNumber()) || seen.put(room.getRoomNumber(), 0) != IntIntMap.MISSING) {
+                    throw new InvalidInputException("Room " + room.getRoomNumber() + " already exists.");
+                }
+            }
+            occupancy.registerRooms(batch);
+            catalog = catalog.withAdded(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds rooms one catalog version each, exactly as that many {@link #add} calls would, but with a
+     * single copy of the catalog; used to replay runs of room creations.
+     */
+    public void addEach(List<Room> batch) {
+        writeLock.lock();
+        try {
+            IntIntMap seen = new IntIntMap(batch.size());
+            for (Room room : batch) {
+                if (catalog.contains(room.getRoomNumber()) || seen.put(room.getRoomNumber(), 0) != IntIntMap.MISSING) {
+                    throw new InvalidInputException("Room " + room.getRoomNumber() + " already exists. Use update instead.");
+                }
+            }
+            occupancy.registerRooms(batch);
+            catalog = catalog.withAddedAll(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a new revision of a stored room with the given type and price, moving it to its
+     * new type group, and returns it. Bookings keep the revision they were priced against.
+     */
+    public Room update(int roomNumber, RoomType newType, Double newPrice) {
+        writeLock.lock();
+        try {
+            if (!catalog.contains(roomNumber)) {
+                throw new InvalidInputException("Room " + roomNumber + " does not exist.");
+            }
+            occupancy.registerRoom(roomNumber, newType);
+            previous = catalog;
+            catalog = catalog.withReplaced(new Room(roomNumber, newType, newPrice));
+            return catalog.find(roomNumber).orElseThrow();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Takes back the {@link #add} or {@link #update} that published {@code revision}, putting the
+     * catalog back to the version before it; the change must still be the latest one.
+     */
+    public void revert(Room revision) {
+        writeLock.lock();
+        try {
+            if (catalog.version() != revision.getCatalogVersion() || previous.version() != revision.getCatalogVersion() - 1) {
+                throw new IllegalStateException("Room " + revision.getRoomNumber() + " was changed again and cannot be reverted.");
+            }
+            occupancy.registerRoom(revision.getRoomNumber(),
+                    previous.find(revision.getRoomNumber()).map(Room::getRoomType).orElse(null));
+            catalog = previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces an empty catalog with rooms restored from a snapshot, keeping their revisions and the version.
+     */
+    public void restore(long version, List<Room> rooms) {
+        writeLock.lock();
+        try {
+            if (catalog.size() > 0) {
+                throw new IllegalStateException("Rooms can only be restored into an empty catalog.");
+            }
+            RoomCatalog restored = RoomCatalog.restored(version, rooms);
+            occupancy.registerRooms(rooms);
+            catalog = restored;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * All rooms of the current catalog version, oldest first.
+     */
+    public List<Room> findAll() {
+        return catalog.rooms();
+    }
+
+    /**
+     * Up to {@code limit} rooms, newest first, starting after room {@code afterRoomNumber}
+     * (or with the newest room if null).
+     */
+    public List<Room> findNewestFirst(Integer afterRoomNumber, int limit) {
+        return catalog.findNewestFirst(afterRoomNumber, limit);
+    }
+
+    public int size() {
+        return catalog.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.repository;
+
+import com.enums.RoomType;
+
+import java.util.Arrays;
+
+/**
+ * Bookings of one room sorted by check-in, kept as parallel primitive arrays of check-in day,
+ * check-out day and booking ID, so a conflict check is a binary search over contiguous ints
+ * instead of a walk through tree nodes. Inserts shift the tail of the arrays, which stays cheap
+ * at the few hundred bookings a room accumulates per year. Each entry also remembers the room type
+ * and revenue it was counted under in the {@link MonthlyAggregates}, so it can be taken out again
+ * exactly even after the room changed type. Guarded by the room's lock.
+ */
+class RoomSchedule {
+
+    private int[] checkIns = new int[8];
+    private int[] checkOuts = new int[8];
+    private int[] bookingIds = new int[8];
+    private RoomType[] types = new RoomType[8];
+    private int[] revenues = new int[8];
+    private int size;
+
+    /**
+     * Inserts the booking in check-in order; false if another booking already starts that day.
+     */
+    boolean add(int bookingId, long checkInDay, long checkOutDay, RoomType type, int revenue) {
+        int checkIn = day(checkInDay);
+        int index = firstAtOrAfter(checkIn);
+        if (index < size && checkIns[index] == checkIn) return false;
+
+        if (size == checkIns.length) {
+            int capacity = size << 1;
+            checkIns = Arrays.copyOf(checkIns, capacity);
+            checkOuts = Arrays.copyOf(checkOuts, capacity);
+            bookingIds = Arrays.copyOf(bookingIds, capacity);
+            types = Arrays.copyOf(types, capacity);
+            revenues = Arrays.copyOf(revenues, capacity);
+        }
+        System.arraycopy(checkIns, index, checkIns, index + 1, size - index);
+        System.arraycopy(checkOuts, index, checkOuts, index + 1, size - index);
+        System.arraycopy(bookingIds, index, bookingIds, index + 1, size - index);
+        System.arraycopy(types, index, types, index + 1, size - index);
+        System.arraycopy(revenues, index, revenues, index + 1, size - index);
+        checkIns[index] = checkIn;
+        checkOuts[index] = day(checkOutDay);
+        bookingIds[index] = bookingId;
+        types[index] = type;
+        revenues[index] = revenue;
+        size++;
+        return true;
+    }
+
+    /**
+     * Position of the booking stored under the given check-in day, or -1 if it is not there.
+     */
+    int indexOf(int bookingId, long checkInDay) {
+        int index = firstAtOrAfter(day(checkInDay));
+        return index < size && bookingIds[index] == bookingId ? index : -1;
+    }
+
+    RoomType typeAt(int index) {
+        return types[index];
+    }
+
+    int revenueAt(int index) {
+        return revenues[index];
+    }
+
+    void removeAt(int index) {
+        size--;
+        System.arraycopy(checkIns, index + 1, checkIns, index, size - index);
+        System.arraycopy(checkOuts, index + 1, checkOuts, index, size - index);
+        System.arraycopy(bookingIds, index + 1, bookingIds, index, size - index);
+        System.arraycopy(types, index + 1, types, index, size - index);
+        System.arraycopy(revenues, index + 1, revenues, index, size - index);
+        types[size] = null;
+    }
+
+    /**
+     * True if a booking other than {@code ignoredId} overlaps the nights [checkInDay, checkOutDay).
+     */
+    boolean overlaps(long checkInDay, long checkOutDay, int ignoredId) {
+        // Bookings of a room never overlap, so ordered by check-in they are ordered by check-out too:
+        // the last one starting before our check-out is the only one that can reach past our check-in.
+        int candidate = firstAtOrAfter(day(checkOutDay)) - 1;
+        if (candidate >= 0 && bookingIds[candidate] == ignoredId) {
+            candidate--;
+        }
+        return candidate >= 0 && checkOuts[candidate] > checkInDay;
+    }
+
+    private int firstAtOrAfter(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (checkIns[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int day(long epochDay) {
+        return Math.toIntExact(epochDay);
+    }
+}
@@ -0,0 +1,115 @@
+package com.repository;
+
+import com.entities.User;
+import com.exceptions.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User directory indexed by ID, keeping creation order for listings.
+ */
+public class UserRepository {
+
+    private final List<User> users = new ArrayList<>();
+    private final Map<String, User> byId = new ConcurrentHashMap<>();
+    // User ID -> index in creation order, to resume listings after a user; guarded like users
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    public Optional<User> findById(String userId) {
+        if (userId == null) return Optional.empty();
+        return Optional.ofNullable(byId.get(userId));
+    }
+
+    public void add(User user) {
+        synchronized (users) {
+            if (byId.putIfAbsent(user.getId(), user) != null) {
+                throw new InvalidInputException("User with ID " + user.getId() + " already exists.");
+            }
+            positions.put(user.getId(), users.size());
+            users.add(user);
+        }
+    }
+
+    /**
+     * Takes a user added by {@link #add} back out, e.g. when its creation could not be recorded.
+     */
+    public void remove(User user) {
+        synchronized (users) {
+            Integer position = positions.get(user.getId());
+            if (position == null || !byId.remove(user.getId(), user)) return;
+            positions.remove(user.getId());
+            users.remove((int) position);
+            for (int i = position; i < users.size(); i++) {
+                positions.put(users.get(i).getId(), i);
+            }
+        }
+    }
+
+    /**
+     * Adds many users under one lock acquisition; rejected whole if any ID is taken or repeated.
+     */
+    public void addAll(List<User> batch) {
+        synchronized (users) {
+            Set<String> seen = new HashSet<>(batch.size() * 2);
+            for (User user : batch) {
+                if (user.getId() == null || user.getId().isBlank() || user.getBalance() < 0) {
+                    throw new InvalidInputException("Invalid user " + user.getId() + ": ID cannot be empty, Balance cannot be negative.");
+                }
+                if (byId.containsKey(user.getId()) || !seen.add(user.getId())) {
+                    throw new InvalidInputException("User with ID " + user.getId() + " already exists.");
+                }
+            }
+            for (User user : batch) {
+                byId.put(user.getId(), user);
+                positions.put(user.getId(), users.size());
+                users.add(user);
+            }
+        }
+    }
+
+    /**
+     * Point-in-time copy of all users, oldest first.
+     */
+    public List<User> findAll() {
+        synchronized (users) {
+            return List.copyOf(users);
+        }
+    }
+
+    /**
+     * Up to {@code limit} users, newest first, starting after user {@code afterUserId}
+     * (or with the newest user if null).
+     */
+    public List<User> findNewestFirst(String afterUserId, int limit) {
+        synchronized (users) {
+            int end = users.size();
+            if (afterUserId != null) {
+                Integer position = positions.get(afterUserId);
+                if (position == null) {
+                    throw new InvalidInputException("Unknown cursor: user " + afterUserId + " does not exist.");
+                }
+                end = position;
+            }
+            List<User> page = new ArrayList<>(Math.min(limit, end));
+            for (int i = end - 1; i >= 0 && page.size() < limit; i--) {
+                page.add(users.get(i));
+            }
+            return page;
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+}
@@ -1,122 +1,827 @@
 package com.service;
 
+import com.dto.BookingRequest;
+import com.dto.BookingResult;
+import com.dto.Page;
 import com.entities.Booking;
+import com.entities.Hold;
 import com.entities.Room;
 import com.entities.User;
+import com.enums.BatchMode;
+import com.enums.Operation;
+import com.enums.RejectionReason;
+import com.enums.RoomType;
+import com.events.EventPublisher;
 import com.exceptions.InvalidInputException;
+import com.metrics.BookingMetrics;
+import com.persistence.Journal;
+import com.pricing.PricingEngine;
+import com.repository.BookingStore;
+import com.repository.RoomRepository;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class BookingService {
 
+    private final Journal journal;
+    private final BookingMetrics metrics;
+    private final EventPublisher events;
+    private final IdempotencyCache idempotency;
+    private final PricingEngine pricing;
+    private final HoldTable holds;
 
-    public void createBooking(List<Booking> bookings, User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+    public BookingService() {
+        this(Journal.NONE);
+    }
+
+    public BookingService(Journal journal) {
+        this(journal, new BookingMetrics());
+    }
+
+    public BookingService(Journal journal, BookingMetrics metrics) {
+        this(journal, metrics, EventPublisher.NONE);
+    }
+
+    public BookingService(Journal journal, BookingMetrics metrics, EventPublisher events) {
+        this(journal, metrics, events, new IdempotencyCache(IdempotencyConfig.builder().build()));
+    }
+
+    public BookingService(Journal journal, BookingMetrics metrics, EventPublisher events, IdempotencyCache idempotency) {
+        this(journal, metrics, events, idempotency, PricingEngine.FLAT);
+    }
+
+    public BookingService(Journal journal, BookingMetrics metrics, EventPublisher events, IdempotencyCache idempotency,
+                          PricingEngine pricing) {
+        this(journal, metrics, events, idempotency, pricing, HoldConfig.builder().build());
+    }
+
+    public BookingService(Journal journal, BookingMetrics metrics, EventPublisher events, IdempotencyCache idempotency,
+                          PricingEngine pricing, HoldConfig holdConfig) {
+        this.journal = journal;
+        this.metrics = metrics;
+        this.events = events;
+        this.idempotency = idempotency;
+        this.pricing = pricing;
+        this.holds = new HoldTable(holdConfig);
+    }
+
+    /**
+     * The rates stays are charged at; quote rooms with it, e.g. for availability search.
+     */
+    public PricingEngine pricing() {
+        return pricing;
+    }
+
+    public BookingMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Books the room for the stay and debits the user, returning the stored booking.
+     */
+    public Booking createBooking(BookingStore bookings, User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        long start = System.nanoTime();
+        try {
+            return book(bookings, user, room, checkIn, checkOut);
+        } finally {
+            metrics.recordLatency(Operation.CREATE_BOOKING, start);
+        }
+    }
+
+    /**
+     * Same as {@link #createBooking(BookingStore, User, Room, LocalDate, LocalDate)}, but a retry carrying
+     * the same {@code idempotencyKey} gets the first attempt's booking or rejection back instead of
+     * booking and paying again; duplicates racing the first attempt wait for it. A null key always books.
+     */
+    public Booking createBooking(BookingStore bookings, User user, Room room, LocalDate checkIn, LocalDate checkOut,
+                                 String idempotencyKey) {
+        long start = System.nanoTime();
+        try {
+            if (idempotencyKey == null || user == null || room == null || checkIn == null || checkOut == null) {
+                return book(bookings, user, room, checkIn, checkOut);
+            }
+            IdempotencyCache.Claim claim;
+            try {
+                claim = idempotency.claim(user.getId(), idempotencyKey, room.getRoomNumber(), checkIn, checkOut);
+            } catch (InvalidInputException e) {
+                metrics.recordRejection(e.getReason());
+                throw e;
+            }
+            if (!claim.owner()) {
+                Booking booking = claim.await();
+                System.out.println("✅ Duplicate request: returning booking " + booking.getBookingId() + ".");
+                return booking;
+            }
+            Booking booking;
+            try {
+                booking = book(bookings, user, room, checkIn, checkOut);
+            } catch (RuntimeException e) {
+                claim.fail(e);
+                throw e;
+            }
+            claim.complete(booking);
+            return booking;
+        } finally {
+            metrics.recordLatency(Operation.CREATE_BOOKING, start);
+        }
+    }
+
+    private Booking book(BookingStore bookings, User user, Room room, LocalDate checkIn, LocalDate checkOut) {
         if (checkIn == null || checkOut == null || user == null || room == null) {
-            throw new InvalidInputException("Invalid input: User, Room, and Dates are required.");
+            throw reject(RejectionReason.INVALID_INPUT, "Invalid input: User, Room, and Dates are required.");
         }
         if (!checkOut.isAfter(checkIn)) {
-            throw new InvalidInputException("Check-out date must be after check-in date.");
+            throw reject(RejectionReason.INVALID_DATES, "Check-out date must be after check-in date.");
+        }
+
+        int totalCost = charge(room.getRoomNumber(), room.getRoomType(), room.getPrice(), checkIn, checkOut);
+
+        // Cheap early rejection; the authoritative check is the atomic debit below
+        if (user.getBalance() < totalCost) {
+            throw reject(RejectionReason.INSUFFICIENT_BALANCE, "Insufficient balance. Cost: " + totalCost + ", Balance: " + user.getBalance());
         }
 
-        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        // Only bookings of the same room (stripe) are serialized against each other
+        long position;
+        Booking newBooking;
+        Lock gate = journal.mutationLock();
+        ReentrantLock roomLock = bookings.roomLock(room.getRoomNumber());
+        gate.lock();
+        roomLock.lock();
+        try {
+            if (bookings.isOccupied(room.getRoomNumber(), checkIn, checkOut)) {
+                throw reject(RejectionReason.OVERLAP, "Room " + room.getRoomNumber() + " is already booked for these dates.");
+            }
 
+            int balance = user.debitOrRefuse(totalCost);
+            if (balance < 0) {
+                throw reject(RejectionReason.INSUFFICIENT_BALANCE, "Insufficient balance. Cost: " + totalCost + ", Balance: " + user.getBalance());
+            }
 
-        int pricePerNight = room.getPrice().intValue();
-        int totalCost = (int) nights * pricePerNight;
+            try {
+                newBooking = new Booking(
+                        bookings.nextId(),
+                        user,
+                        room,
+                        checkIn,
+                        checkOut,
+                        room.getPrice(), // Storing snapshot of price
+                        totalCost
+                );
+                bookings.add(newBooking);
+            } catch (RuntimeException e) {
+                user.credit(totalCost);
+                throw e;
+            }
+            try {
+                position = journal.bookingCreated(newBooking);
+            } catch (RuntimeException e) {
+                // Not recorded, so it must not stay booked either
+                bookings.remove(newBooking);
+                user.credit(totalCost);
+                throw e;
+            }
+            // Under the room lock, so no later change of the booking can overtake or leak into these
+            events.balanceChanged(user, balance, -totalCost);
+            events.bookingCreated(newBooking);
+        } finally {
+            roomLock.unlock();
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+
+        System.out.println("✅ Booking successful! Cost: " + totalCost + ". New User Balance: " + user.getBalance());
+        return newBooking;
+    }
 
+    /**
+     * Turns a hold into a booking of its dates at the price quoted with it, debiting the hold's user.
+     * The dates are not checked again, the hold has kept them free. Fails if the hold expired or was
+     * released; if the user cannot pay, the hold stays until it expires.
+     */
+    public Booking createBooking(BookingStore bookings, int holdId) {
+        long start = System.nanoTime();
+        try {
+            return book(bookings, holdId);
+        } finally {
+            metrics.recordLatency(Operation.CREATE_BOOKING, start);
+        }
+    }
+
+    private Booking book(BookingStore bookings, int holdId) {
+        HoldTable.Held held = findHold(bookings, holdId);
+        Hold hold = held.hold;
+        User user = hold.getUser();
+        Room room = hold.getRoom();
+        int totalCost = hold.getTotalCost();
+
+        long position;
+        Booking newBooking;
+        Lock gate = journal.mutationLock();
+        ReentrantLock roomLock = bookings.roomLock(room.getRoomNumber());
+        gate.lock();
+        roomLock.lock();
+        try {
+            if (!holds.claim(held)) {
+                throw reject(RejectionReason.NOT_FOUND, "Hold " + holdId + " not found or expired.");
+            }
+            int balance = user.debitOrRefuse(totalCost);
+            if (balance < 0) {
+                holds.restore(held);
+                throw reject(RejectionReason.INSUFFICIENT_BALANCE, "Insufficient balance. Cost: " + totalCost + ", Balance: " + user.getBalance());
+            }
+
+            try {
+                newBooking = new Booking(
+                        bookings.nextId(),
+                        user,
+                        room,
+                        hold.getCheckIn(),
+                        hold.getCheckOut(),
+                        room.getPrice(),
+                        totalCost
+                );
+                bookings.addHeld(newBooking, holdId);
+            } catch (RuntimeException e) {
+                user.credit(totalCost);
+                holds.restore(held);
+                throw e;
+            }
+            try {
+                position = journal.bookingCreated(newBooking);
+            } catch (RuntimeException e) {
+                // Not recorded: give the dates back to the hold rather than keep an unrecorded booking
+                bookings.remove(newBooking);
+                bookings.hold(room.getRoomNumber(), holdId, hold.getCheckIn(), hold.getCheckOut());
+                user.credit(totalCost);
+                holds.restore(held);
+                throw e;
+            }
+            holds.settle(held);
+            events.balanceChanged(user, balance, -totalCost);
+            events.bookingCreated(newBooking);
+        } finally {
+            roomLock.unlock();
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+
+        System.out.println("✅ Booking successful! Cost: " + totalCost + ". New User Balance: " + user.getBalance());
+        return newBooking;
+    }
+
+    /**
+     * Keeps the room's dates aside for the user without charging them, until the configured TTL runs
+     * out or the hold is booked with {@link #createBooking(BookingStore, int)} or released. The stay is
+     * priced now, and that is the price the booking will cost.
+     */
+    public Hold placeHold(BookingStore bookings, User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        long start = System.nanoTime();
+        try {
+            return hold(bookings, user, room, checkIn, checkOut);
+        } finally {
+            metrics.recordLatency(Operation.PLACE_HOLD, start);
+        }
+    }
+
+    private Hold hold(BookingStore bookings, User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || user == null || room == null) {
+            throw reject(RejectionReason.INVALID_INPUT, "Invalid input: User, Room, and Dates are required.");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw reject(RejectionReason.INVALID_DATES, "Check-out date must be after check-in date.");
+        }
+
+        int totalCost = charge(room.getRoomNumber(), room.getRoomType(), room.getPrice(), checkIn, checkOut);
         if (user.getBalance() < totalCost) {
-            throw new InvalidInputException("Insufficient balance. Cost: " + totalCost + ", Balance: " + user.getBalance());
+            throw reject(RejectionReason.INSUFFICIENT_BALANCE, "Insufficient balance. Cost: " + totalCost + ", Balance: " + user.getBalance());
         }
 
-        boolean isOccupied = bookings.stream()
-                .filter(b -> b.getRoomNumber().getRoomNumber() == room.getRoomNumber()) // Check same room
-                .anyMatch(b ->
-                        checkIn.isBefore(b.getCheckOut()) && checkOut.isAfter(b.getCheckIn())
+        // Nothing is journaled, so the journal gate is not needed
+        Hold hold;
+        ReentrantLock roomLock = bookings.roomLock(room.getRoomNumber());
+        roomLock.lock();
+        try {
+            if (bookings.isOccupied(room.getRoomNumber(), checkIn, checkOut)) {
+                throw reject(RejectionReason.OVERLAP, "Room " + room.getRoomNumber() + " is already booked for these dates.");
+            }
+            hold = new Hold(holds.nextId(), user, room, checkIn, checkOut, totalCost, Instant.now().plus(holds.ttl()));
+            bookings.hold(room.getRoomNumber(), hold.getHoldId(), checkIn, checkOut);
+            holds.add(hold, bookings);
+        } finally {
+            roomLock.unlock();
+        }
+
+        System.out.println("✅ Room " + room.getRoomNumber() + " held until " + hold.getExpiresAt() + ". Hold ID: " + hold.getHoldId() + ", Cost: " + totalCost);
+        return hold;
+    }
+
+    /**
+     * Gives a hold's dates back before it expires, returning the released hold.
+     */
+    public Hold releaseHold(BookingStore bookings, int holdId) {
+        HoldTable.Held held = findHold(bookings, holdId);
+        Hold hold = held.hold;
+        ReentrantLock roomLock = bookings.roomLock(hold.getRoom().getRoomNumber());
+        roomLock.lock();
+        try {
+            if (!holds.claim(held)) {
+                throw reject(RejectionReason.NOT_FOUND, "Hold " + holdId + " not found or expired.");
+            }
+            holds.settle(held);
+            bookings.releaseHold(hold.getRoom().getRoomNumber(), holdId, hold.getCheckIn(), hold.getCheckOut());
+        } finally {
+            roomLock.unlock();
+        }
+        System.out.println("✅ Hold " + holdId + " released.");
+        return hold;
+    }
+
+    /**
+     * Holds placed and not yet booked, released or expired.
+     */
+    public int activeHolds() {
+        return holds.size();
+    }
+
+    /**
+     * Stops the hold expiry thread; holds still placed then keep their dates. Call on shutdown.
+     */
+    public void close() {
+        holds.close();
+    }
+
+    private HoldTable.Held findHold(BookingStore bookings, int holdId) {
+        HoldTable.Held held = holds.find(holdId, bookings);
+        if (held == null) {
+            throw reject(RejectionReason.NOT_FOUND, "Hold " + holdId + " not found or expired.");
+        }
+        return held;
+    }
+
+    /**
+     * Books a burst of requests in one pass: requests are grouped by room and sorted by check-in,
+     * so conflicts inside the batch and against stored bookings are found in a single walk, and
+     * each user is debited once for the combined total of their accepted requests.
+     * <p>
+     * In {@link BatchMode#ALL_OR_NOTHING} nothing is booked or debited unless every request succeeds;
+     * only if the journal fails partway do the bookings it already recorded stand.
+     * Results are returned in request order and failures never throw.
+     * <p>
+     * A request carrying an idempotency key already seen gets that attempt's outcome back and takes no
+     * part in the batch, so retrying a whole batch only books what did not go through the first time.
+     */
+    public List<BookingResult> createBookings(BookingStore bookings, List<BookingRequest> requests, BatchMode mode) {
+        long start = System.nanoTime();
+        try {
+            return bookBatch(bookings, requests, mode);
+        } finally {
+            metrics.recordLatency(Operation.CREATE_BOOKINGS, start);
+        }
+    }
+
+    private List<BookingResult> bookBatch(BookingStore bookings, List<BookingRequest> requests, BatchMode mode) {
+        if (bookings == null || requests == null || mode == null) {
+            throw new InvalidInputException("Invalid input: Bookings, Requests and Mode are required.");
+        }
+        int n = requests.size();
+        BookingResult[] results = new BookingResult[n];
+        IdempotencyCache.Claim[] claims = new IdempotencyCache.Claim[n];
+        try {
+            bookBatch(bookings, requests, mode, results, claims);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < n; i++) {
+                if (claims[i] != null && claims[i].owner()) claims[i].fail(e);
+            }
+            throw e;
+        }
+
+        // Settle keys: record every outcome of this batch before waiting on anyone else's, as another
+        // batch may be waiting on ours while holding a key we need
+        for (int i = 0; i < n; i++) {
+            if (claims[i] == null || !claims[i].owner()) continue;
+            if (results[i].isSuccess()) {
+                claims[i].complete(results[i].getBooking());
+            } else if (results[i].getReason() != null) {
+                claims[i].fail(new InvalidInputException(results[i].getReason(), results[i].getError()));
+            } else {
+                // Not a rejection: the key is released so a retry runs again
+                claims[i].fail(new IllegalStateException(results[i].getError()));
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!isReplayed(claims[i])) continue;
+            try {
+                results[i] = BookingResult.success(requests.get(i), claims[i].await());
+            } catch (RuntimeException e) {
+                results[i] = BookingResult.failure(requests.get(i), reasonOf(e), e.getMessage());
+            }
+        }
+        return List.of(results);
+    }
+
+    // Fills results for every request not replayed from an earlier attempt (claims[i] held by someone else)
+    private void bookBatch(BookingStore bookings, List<BookingRequest> requests, BatchMode mode,
+                           BookingResult[] results, IdempotencyCache.Claim[] claims) {
+        int n = requests.size();
+        int[] costs = new int[n];
+
+        // 1. Validation and pricing, grouped per room (TreeMap keeps a stable room order)
+        Map<Integer, List<Integer>> byRoom = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            BookingRequest request = requests.get(i);
+            RejectionReason invalid = validate(request);
+            if (invalid != null) {
+                metrics.recordRejection(invalid);
+                results[i] = BookingResult.failure(request, invalid, invalid == RejectionReason.INVALID_INPUT
+                        ? "Invalid input: User, Room, and Dates are required."
+                        : "Check-out date must be after check-in date.");
+                continue;
+            }
+            if (request.getIdempotencyKey() != null) {
+                try {
+                    claims[i] = idempotency.claim(request.getUser().getId(), request.getIdempotencyKey(),
+                            request.getRoom().getRoomNumber(), request.getCheckIn(), request.getCheckOut());
+                } catch (InvalidInputException e) {
+                    metrics.recordRejection(e.getReason());
+                    results[i] = BookingResult.failure(request, e.getReason(), e.getMessage());
+                    continue;
+                }
+                if (!claims[i].owner()) continue;
+            }
+            Room room = request.getRoom();
+            try {
+                costs[i] = charge(room.getRoomNumber(), room.getRoomType(), room.getPrice(), request.getCheckIn(), request.getCheckOut());
+            } catch (InvalidInputException e) {
+                results[i] = BookingResult.failure(request, e.getReason(), e.getMessage());
+                continue;
+            }
+            byRoom.computeIfAbsent(request.getRoom().getRoomNumber(), k -> new ArrayList<>()).add(i);
+        }
+
+        long position = 0;
+        Lock gate = journal.mutationLock();
+        List<ReentrantLock> locks = bookings.roomLocks(byRoom.keySet());
+        gate.lock();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            // 2. One sorted walk per room catches both in-batch and stored overlaps
+            Map<User, List<Integer>> acceptedByUser = new LinkedHashMap<>();
+            for (Map.Entry<Integer, List<Integer>> group : byRoom.entrySet()) {
+                List<Integer> indexes = group.getValue();
+                indexes.sort(Comparator.comparing(i -> requests.get(i).getCheckIn()));
+                LocalDate acceptedUntil = LocalDate.MIN;
+                for (int i : indexes) {
+                    BookingRequest request = requests.get(i);
+                    if (request.getCheckIn().isBefore(acceptedUntil)
+                            || bookings.isOccupied(group.getKey(), request.getCheckIn(), request.getCheckOut())) {
+                        metrics.recordRejection(RejectionReason.OVERLAP);
+                        results[i] = BookingResult.failure(request, RejectionReason.OVERLAP, "Room " + group.getKey() + " is already booked for these dates.");
+                        continue;
+                    }
+                    acceptedUntil = request.getCheckOut();
+                    acceptedByUser.computeIfAbsent(request.getUser(), k -> new ArrayList<>()).add(i);
+                }
+            }
+
+            // 3. One debit per user for everything they got
+            Map<User, Integer> debited = new HashMap<>();
+            // Each user's balance as this batch's last change to it left it
+            Map<User, Integer> balances = new HashMap<>();
+            boolean failed = false;
+            for (int i = 0; i < n && !failed; i++) {
+                failed = results[i] != null;
+            }
+            for (Map.Entry<User, List<Integer>> accepted : acceptedByUser.entrySet()) {
+                User user = accepted.getKey();
+                int total = accepted.getValue().stream().mapToInt(i -> costs[i]).sum();
+                int balance = user.debitOrRefuse(total);
+                if (balance >= 0) {
+                    debited.put(user, total);
+                    balances.put(user, balance);
+                    continue;
+                }
+                failed = true;
+                for (int i : accepted.getValue()) {
+                    metrics.recordRejection(RejectionReason.INSUFFICIENT_BALANCE);
+                    results[i] = BookingResult.failure(requests.get(i), RejectionReason.INSUFFICIENT_BALANCE,
+                            "Insufficient balance. Cost: " + total + ", Balance: " + user.getBalance());
+                }
+            }
+
+            if (failed && mode == BatchMode.ALL_OR_NOTHING) {
+                debited.forEach(User::credit);
+                for (int i = 0; i < n; i++) {
+                    if (results[i] == null && !isReplayed(claims[i])) {
+                        results[i] = BookingResult.failure(requests.get(i), RejectionReason.BATCH_ABORTED,
+                                "Batch rejected: another request in the batch failed.");
+                    }
+                }
+                return;
+            }
+
+            // 4. Everything left is accepted and paid for: store it all, then record it all
+            Booking[] stored = new Booking[n];
+            for (int i = 0; i < n; i++) {
+                if (results[i] != null || isReplayed(claims[i])) continue;
+                BookingRequest request = requests.get(i);
+                Booking newBooking = new Booking(
+                        bookings.nextId(),
+                        request.getUser(),
+                        request.getRoom(),
+                        request.getCheckIn(),
+                        request.getCheckOut(),
+                        request.getRoom().getPrice(), // Storing snapshot of price
+                        costs[i]
                 );
+                try {
+                    bookings.add(newBooking);
+                    stored[i] = newBooking;
+                } catch (RuntimeException e) {
+                    request.getUser().credit(costs[i]);
+                    results[i] = BookingResult.failure(request, reasonOf(e), e.getMessage());
+                    if (mode == BatchMode.ALL_OR_NOTHING) {
+                        // Nothing is recorded yet, so the legs already stored can simply be taken back
+                        abort(bookings, requests, stored, costs, results, claims);
+                        return;
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                if (stored[i] == null) continue;
+                try {
+                    position = journal.bookingCreated(stored[i]);
+                    results[i] = BookingResult.success(requests.get(i), stored[i]);
+                } catch (RuntimeException e) {
+                    // Not recorded, so not booked; legs recorded before it stand, as the journal has them
+                    bookings.remove(stored[i]);
+                    balances.put(stored[i].getUser(), stored[i].getUser().credit(costs[i]));
+                    results[i] = BookingResult.failure(requests.get(i), reasonOf(e), e.getMessage());
+                }
+            }
+            publishBatch(results, balances);
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+            gate.unlock();
+        }
+        // One wait covers the whole batch
+        journal.awaitDurable(position);
+
+        long booked = Arrays.stream(results).filter(r -> r != null && r.isSuccess()).count();
+        System.out.println("✅ Batch processed: " + booked + " of " + n + " bookings created.");
+    }
 
-        if (isOccupied) {
-            throw new InvalidInputException("Room " + room.getRoomNumber() + " is already booked for these dates.");
+    // Takes back every stored leg of an all-or-nothing batch and fails the requests still pending
+    private void abort(BookingStore bookings, List<BookingRequest> requests, Booking[] stored, int[] costs,
+                       BookingResult[] results, IdempotencyCache.Claim[] claims) {
+        for (int i = 0; i < stored.length; i++) {
+            if (stored[i] != null) {
+                bookings.remove(stored[i]);
+                stored[i].getUser().credit(costs[i]);
+            } else if (results[i] == null && !isReplayed(claims[i])) {
+                // Accepted but not stored yet: only its debit is to be given back
+                requests.get(i).getUser().credit(costs[i]);
+            }
+            if (results[i] == null && !isReplayed(claims[i])) {
+                results[i] = BookingResult.failure(requests.get(i), RejectionReason.BATCH_ABORTED,
+                        "Batch rejected: another request in the batch failed.");
+            }
         }
+    }
 
-        user.setBalance(user.getBalance() - totalCost);
+    private static boolean isReplayed(IdempotencyCache.Claim claim) {
+        return claim != null && !claim.owner();
+    }
 
-        int newId = bookings.stream().mapToInt(Booking::getBookingId).max().orElse(0) + 1;
+    private static RejectionReason reasonOf(RuntimeException failure) {
+        return failure instanceof InvalidInputException invalid ? invalid.getReason() : null;
+    }
 
-        Booking newBooking = new Booking(
-                newId,
-                user,
-                room,
-                checkIn,
-                checkOut,
-                (double) pricePerNight, // Storing snapshot of price
-                totalCost
-        );
+    // One balance change per user for the combined cost of their bookings, then the bookings themselves;
+    // called with the batch's room locks held
+    private void publishBatch(BookingResult[] results, Map<User, Integer> balances) {
+        Map<User, Long> spent = new LinkedHashMap<>();
+        for (BookingResult result : results) {
+            if (result != null && result.isSuccess()) {
+                spent.merge(result.getBooking().getUser(), (long) result.getBooking().getTotalCost(), Long::sum);
+            }
+        }
+        spent.forEach((user, total) -> events.balanceChanged(user, balances.get(user), -total));
+        for (BookingResult result : results) {
+            if (result != null && result.isSuccess()) {
+                events.bookingCreated(result.getBooking());
+            }
+        }
+    }
 
-        bookings.add(newBooking);
-        System.out.println("✅ Booking successful! Cost: " + totalCost + ". New User Balance: " + user.getBalance());
+    public Optional<Booking> findBooking(BookingStore bookings, int bookingId) {
+        long start = System.nanoTime();
+        try {
+            if (bookings == null || bookings.isEmpty()) return Optional.empty();
+            return bookings.findById(bookingId);
+        } finally {
+            metrics.recordLatency(Operation.FIND_BOOKING, start);
+        }
     }
-    public Optional<Booking> findBooking(List<Booking> bookings, int bookingId) {
-        if (bookings == null || bookings.isEmpty()) return Optional.empty();
-        return bookings.stream()
-                .filter(b -> b.getBookingId() == bookingId)
-                .findFirst();
+
+    /**
+     * Moves a booking to new dates in place. The stay is re-priced at the nightly price it was booked
+     * at, and the user is charged the difference or refunded it.
+     */
+    public void updateBookingDates(BookingStore bookings, int bookingId, LocalDate newCheckIn, LocalDate newCheckOut) {
+        long start = System.nanoTime();
+        try {
+            reschedule(bookings, bookingId, newCheckIn, newCheckOut);
+        } finally {
+            metrics.recordLatency(Operation.UPDATE_BOOKING_DATES, start);
+        }
     }
 
-    public void updateBookingDates(List<Booking> bookings, int bookingId, LocalDate newCheckIn, LocalDate newCheckOut) {
-        Booking booking = findBooking(bookings, bookingId).orElseThrow(() ->
-                new InvalidInputException("Booking ID " + bookingId + " not found."));
+    private void reschedule(BookingStore bookings, int bookingId, LocalDate newCheckIn, LocalDate newCheckOut) {
+        if (newCheckIn == null || newCheckOut == null) {
+            throw reject(RejectionReason.INVALID_INPUT, "Invalid input: Dates are required.");
+        }
+        if (!newCheckOut.isAfter(newCheckIn)) {
+            throw reject(RejectionReason.INVALID_DATES, "Check-out date must be after check-in date.");
+        }
+        Booking booking = lookup(bookings, bookingId);
+
+        long position;
+        int difference;
+        LocalDate previousCheckIn;
+        LocalDate previousCheckOut;
+        Lock gate = journal.mutationLock();
+        ReentrantLock roomLock = bookings.roomLock(booking.getRoomNumber().getRoomNumber());
+        gate.lock();
+        roomLock.lock();
+        try {
+            // Read again under the lock: a concurrent change may have moved it since the lookup
+            booking = lookup(bookings, bookingId);
+            if (booking.isCancelled()) {
+                throw reject(RejectionReason.CANCELLED, "Cannot update: Booking " + bookingId + " is cancelled.");
+            }
+            previousCheckIn = booking.getCheckIn();
+            previousCheckOut = booking.getCheckOut();
+            int previousTotalCost = booking.getTotalCost();
+            // The booking's own slot is ignored, so no remove / re-add is needed
+            if (bookings.isOccupied(booking.getRoomNumber().getRoomNumber(), newCheckIn, newCheckOut, booking)) {
+                throw reject(RejectionReason.OVERLAP, "Cannot update: Room is occupied on new dates.");
+            }
 
-        bookings.remove(booking);
+            // Re-priced at the booked base rate, so a room price change since booking does not apply
+            Room room = booking.getRoomNumber();
+            int newTotalCost = charge(room.getRoomNumber(), room.getRoomType(), booking.getBookedPricePerNight(), newCheckIn, newCheckOut);
+            difference = newTotalCost - booking.getTotalCost();
+            User user = booking.getUser();
+            int balance = difference > 0 ? user.debitOrRefuse(difference) : user.getBalance();
+            if (balance < 0) {
+                throw reject(RejectionReason.INSUFFICIENT_BALANCE, "Insufficient balance for the new dates. Extra cost: " + difference + ", Balance: " + user.getBalance());
+            }
+            try {
+                bookings.reschedule(booking, newCheckIn, newCheckOut, newTotalCost);
+            } catch (RuntimeException e) {
+                if (difference > 0) user.credit(difference);
+                throw e;
+            }
+            try {
+                position = journal.bookingRescheduled(booking);
+            } catch (RuntimeException e) {
+                // Not recorded: move it back; the old dates are still free under the room lock
+                bookings.reschedule(booking, previousCheckIn, previousCheckOut, previousTotalCost);
+                if (difference > 0) user.credit(difference);
+                throw e;
+            }
+            // Refunds are paid only once recorded, so there is never a credit to claw back
+            if (difference < 0) balance = user.credit(-difference);
+            if (difference != 0) events.balanceChanged(user, balance, -difference);
+            events.bookingRescheduled(booking, previousCheckIn, previousCheckOut);
+        } finally {
+            roomLock.unlock();
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+        System.out.println("✅ Booking " + bookingId + " updated.");
+    }
 
+    /**
+     * Cancels a booking, freeing its dates and refunding its total cost to the user.
+     */
+    public void cancelBooking(BookingStore bookings, int bookingId) {
+        long start = System.nanoTime();
         try {
-            boolean isOccupied = bookings.stream()
-                    .filter(b -> b.getRoomNumber().getRoomNumber() == booking.getRoomNumber().getRoomNumber())
-                    .anyMatch(b -> newCheckIn.isBefore(b.getCheckOut()) && newCheckOut.isAfter(b.getCheckIn()));
+            cancel(bookings, bookingId);
+        } finally {
+            metrics.recordLatency(Operation.CANCEL_BOOKING, start);
+        }
+    }
 
-            if (isOccupied) {
-                throw new InvalidInputException("Cannot update: Room is occupied on new dates.");
+    private void cancel(BookingStore bookings, int bookingId) {
+        Booking booking = lookup(bookings, bookingId);
+
+        long position;
+        Lock gate = journal.mutationLock();
+        ReentrantLock roomLock = bookings.roomLock(booking.getRoomNumber().getRoomNumber());
+        gate.lock();
+        roomLock.lock();
+        try {
+            booking = lookup(bookings, bookingId);
+            if (booking.isCancelled()) {
+                throw reject(RejectionReason.CANCELLED, "Booking " + bookingId + " is already cancelled.");
+            }
+            bookings.cancel(booking);
+            try {
+                position = journal.bookingCancelled(booking);
+            } catch (RuntimeException e) {
+                bookings.reinstate(booking);
+                throw e;
             }
+            int balance = booking.getUser().credit(booking.getTotalCost());
+            events.balanceChanged(booking.getUser(), balance, booking.getTotalCost());
+            events.bookingCancelled(booking);
+        } finally {
+            roomLock.unlock();
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+        System.out.println("✅ Booking " + bookingId + " cancelled. Refund: " + booking.getTotalCost() + ". New User Balance: " + booking.getUser().getBalance());
+    }
 
-            booking.setCheckIn(newCheckIn);
-            booking.setCheckOut(newCheckOut);
+    private Booking lookup(BookingStore bookings, int bookingId) {
+        return findBooking(bookings, bookingId).orElseThrow(() ->
+                reject(RejectionReason.NOT_FOUND, "Booking ID " + bookingId + " not found."));
+    }
 
-            bookings.add(booking);
-            System.out.println("✅ Booking " + bookingId + " updated.");
+    /**
+     * Rooms of the given type free for the whole stay, answered from the occupancy bitmaps.
+     */
+    public List<Room> findAvailableRooms(BookingStore bookings, RoomRepository rooms, RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        if (roomType == null || checkIn == null || checkOut == null) {
+            throw new InvalidInputException("Invalid input: Room type and Dates are required.");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new InvalidInputException(RejectionReason.INVALID_DATES, "Check-out date must be after check-in date.");
+        }
 
-        } catch (Exception e) {
-            bookings.add(booking);
+        int[] free = bookings.occupancy().findFree(roomType, checkIn.toEpochDay(), checkOut.toEpochDay());
+        List<Room> available = new ArrayList<>(free.length);
+        for (int roomNumber : free) {
+            rooms.findByNumber(roomNumber).ifPresent(available::add);
+        }
+        return available;
+    }
+
+    private static RejectionReason validate(BookingRequest request) {
+        if (request == null || request.getCheckIn() == null || request.getCheckOut() == null
+                || request.getUser() == null || request.getRoom() == null) {
+            return RejectionReason.INVALID_INPUT;
+        }
+        if (!request.getCheckOut().isAfter(request.getCheckIn())) {
+            return RejectionReason.INVALID_DATES;
+        }
+        return null;
+    }
+
+    private InvalidInputException reject(RejectionReason reason, String message) {
+        metrics.recordRejection(reason);
+        return new InvalidInputException(reason, message);
+    }
+
+    // Total in whole units at the given base rate and the rates in force
+    private int charge(int roomNumber, RoomType roomType, double nightlyPrice, LocalDate checkIn, LocalDate checkOut) {
+        try {
+            return pricing.charge(roomNumber, roomType, nightlyPrice, checkIn, checkOut);
+        } catch (InvalidInputException e) {
+            metrics.recordRejection(e.getReason());
             throw e;
         }
     }
 
-    public void listAllBookings(List<Booking> bookings) {
-        System.out.println("\n╔════════════════════════════════════════════════════════════════════════╗");
-        System.out.println("║                           BOOKING HISTORY                              ║");
-        System.out.println("╠══════╤════════════════╤══════╤════════════╤════════════╤═══════════════╣");
-        System.out.println("║  ID  │    USER ID     │ ROOM │  CHECK-IN  │ CHECK-OUT  │   COST ($)    ║");
-        System.out.println("╠══════╪════════════════╪══════╪════════════╪════════════╪═══════════════╣");
-
-        if (bookings == null || bookings.isEmpty()) {
-            System.out.println("║                     No bookings records found.                         ║");
-        } else {
-            // Sort by ID descending (Latest created first)
-            bookings.stream()
-                    .sorted(Comparator.comparingInt(Booking::getBookingId).reversed())
-                    .forEach(b -> {
-                        System.out.printf("║ %-4d │ %-14s │ %-4d │ %-10s │ %-10s │ %13d ║%n",
-                                b.getBookingId(),
-                                // Truncate User ID for display if it's a long UUID
-                                (b.getUser().getId().length() > 14) ? b.getUser().getId().substring(0, 14) : b.getUser().getId(),
-                                b.getRoomNumber().getRoomNumber(),
-                                b.getCheckIn(),
-                                b.getCheckOut(),
-                                b.getTotalCost());
-                    });
-        }
-        System.out.println("╚══════╧════════════════╧══════╧════════════╧════════════╧═══════════════╝");
+    /**
+     * One page of bookings, newest (highest ID) first; {@code cursor} is the previous page's
+     * {@link Page#getNextCursor()}, or null for the first page.
+     */
+    public Page<Booking> listBookings(BookingStore bookings, String cursor, int pageSize) {
+        Page.checkSize(pageSize);
+        Integer afterId = null;
+        if (cursor != null) {
+            try {
+                afterId = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException("Invalid cursor: " + cursor);
+            }
+        }
+        return Page.of(bookings.findNewestFirst(afterId, pageSize + 1), pageSize, b -> String.valueOf(b.getBookingId()));
     }
 }
\ No newline at end of file
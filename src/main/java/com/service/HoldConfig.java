@@ -0,0 +1,23 @@
+package com.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@Builder
+public class HoldConfig {
+
+    // How long a hold keeps its dates unless turned into a booking or released
+    @Builder.Default
+    private final Duration ttl = Duration.ofMinutes(10);
+
+    // Expiry granularity: holds are released at most about one tick after their TTL
+    @Builder.Default
+    private final Duration tick = Duration.ofMillis(100);
+
+    // Timer wheel buckets (a power of two); one lap of the wheel should cover the usual TTL
+    @Builder.Default
+    private final int buckets = 8192;
+}
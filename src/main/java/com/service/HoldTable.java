@@ -0,0 +1,124 @@
+package com.service;
+
+import com.entities.Hold;
+import com.exceptions.InvalidInputException;
+import com.repository.BookingStore;
+import com.util.TimerWheel;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live holds by ID, each with a timeout on one {@link TimerWheel} that frees its dates when it runs out.
+ * <p>
+ * A hold ends exactly once: whoever takes it out of the table first, expiry, release or conversion
+ * to a booking, owns it. A conversion that fails puts the hold back, freeing it at once if its
+ * timeout fired meanwhile.
+ */
+class HoldTable {
+
+    private final Map<Integer, Held> holds = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final TimerWheel<Held> expiry;
+    private final Duration ttl;
+
+    HoldTable(HoldConfig config) {
+        if (config.getTtl().isNegative() || config.getTtl().isZero() || config.getTick().isNegative() || config.getTick().isZero()) {
+            throw new InvalidInputException("Hold TTL and tick must be positive.");
+        }
+        this.ttl = config.getTtl();
+        this.expiry = new TimerWheel<>("hold-expiry", config.getTick().toNanos(), TimeUnit.NANOSECONDS,
+                config.getBuckets(), this::expire);
+    }
+
+    int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    Duration ttl() {
+        return ttl;
+    }
+
+    int size() {
+        return holds.size();
+    }
+
+    void close() {
+        expiry.close();
+    }
+
+    /**
+     * Starts the clock on a hold whose dates are already reserved in {@code store}.
+     */
+    void add(Hold hold, BookingStore store) {
+        Held held = new Held(hold, store);
+        held.timeout = expiry.schedule(held, ttl.toNanos(), TimeUnit.NANOSECONDS);
+        holds.put(hold.getHoldId(), held);
+        // A timeout firing before the put found nothing to take out
+        if (held.timeout.isExpired()) expire(held);
+    }
+
+    /**
+     * The live hold with this ID in {@code store}, or null.
+     */
+    Held find(int holdId, BookingStore store) {
+        Held held = holds.get(holdId);
+        return held != null && held.store == store ? held : null;
+    }
+
+    /**
+     * Takes the hold out so the caller can end it; false if something else ended it first.
+     */
+    boolean claim(Held held) {
+        return holds.remove(held.hold.getHoldId(), held);
+    }
+
+    /**
+     * Ends a claimed hold for good: it will not expire.
+     */
+    void settle(Held held) {
+        held.timeout.cancel();
+    }
+
+    /**
+     * Puts back a claimed hold that could not be converted.
+     */
+    void restore(Held held) {
+        holds.put(held.hold.getHoldId(), held);
+        if (held.timeout.isExpired()) expire(held);
+    }
+
+    // Runs on the wheel's thread, or on a caller that finds the timeout already fired
+    private void expire(Held held) {
+        if (!claim(held)) return;
+        Hold hold = held.hold;
+        int roomNumber = hold.getRoom().getRoomNumber();
+        ReentrantLock roomLock = held.store.roomLock(roomNumber);
+        roomLock.lock();
+        try {
+            held.store.releaseHold(roomNumber, hold.getHoldId(), hold.getCheckIn(), hold.getCheckOut());
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    static final class Held {
+        final Hold hold;
+        final BookingStore store;
+        TimerWheel.Timeout<Held> timeout;
+
+        Held(Hold hold, BookingStore store) {
+            this.hold = hold;
+            this.store = store;
+        }
+
+        @Override
+        public String toString() {
+            return hold.toString();
+        }
+    }
+}
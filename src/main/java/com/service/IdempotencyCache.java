@@ -0,0 +1,169 @@
+package com.service;
+
+import com.entities.Booking;
+import com.enums.RejectionReason;
+import com.exceptions.InvalidInputException;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outcomes of booking requests by (user, idempotency key), so a client retrying after a timeout gets
+ * the first attempt's booking or rejection back instead of booking and paying again.
+ * <p>
+ * The first request with a key claims it and runs; duplicates arriving meanwhile wait on the same
+ * future, so a key is executed once however many retries race. Rejections are replayed like bookings;
+ * any other failure releases the key so a retry runs again. A key reused for a different room or
+ * dates is rejected.
+ * <p>
+ * Entries live for the configured TTL after being claimed and at most {@code maxEntries} are kept,
+ * the oldest going first. As every entry has the same TTL, claim order is also expiry order, so one
+ * FIFO queue serves both bounds and eviction never scans the map. Eviction stops at a request still
+ * running, so it can never run twice; meanwhile the cache may grow past its size.
+ */
+public class IdempotencyCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Every entry ever claimed and not yet evicted, oldest first; may still hold replaced entries
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public IdempotencyCache(IdempotencyConfig config) {
+        if (config.getMaxEntries() <= 0 || config.getTtl().isNegative() || config.getTtl().isZero()) {
+            throw new InvalidInputException("Idempotency cache size and TTL must be positive.");
+        }
+        this.maxEntries = config.getMaxEntries();
+        this.ttlNanos = config.getTtl().toNanos();
+    }
+
+    /**
+     * Keys currently remembered, finished or in flight.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Claims the key, or joins the request that already holds it. The owner must finish the claim
+     * with {@link Claim#complete} or {@link Claim#fail}.
+     */
+    Claim claim(String userId, String idempotencyKey, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        Key key = new Key(userId, idempotencyKey);
+        long now = System.nanoTime();
+        Entry fresh = new Entry(key, roomNumber, checkIn, checkOut, now + ttlNanos);
+        while (true) {
+            Entry current = entries.putIfAbsent(key, fresh);
+            if (current == null || (current.isExpired(now) && entries.replace(key, current, fresh))) {
+                order.add(fresh);
+                queued.incrementAndGet();
+                evict(now);
+                return new Claim(fresh, true);
+            }
+            if (current.isExpired(now)) continue;
+            if (!current.matches(roomNumber, checkIn, checkOut)) {
+                throw new InvalidInputException(RejectionReason.INVALID_INPUT,
+                        "Idempotency key '" + idempotencyKey + "' was already used for a different booking request.");
+            }
+            return new Claim(current, false);
+        }
+    }
+
+    // Drops expired entries from the head, then the oldest ones while over capacity; one thread at a time
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) return;
+        try {
+            Entry head;
+            while ((head = order.peek()) != null && head.result.isDone() && (queued.get() > maxEntries || head.isExpired(now))) {
+                order.poll();
+                queued.decrementAndGet();
+                // A no-op if the key has since been released or claimed again
+                entries.remove(head.key, head);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record Key(String userId, String idempotencyKey) {
+    }
+
+    private static final class Entry {
+        final Key key;
+        final int roomNumber;
+        final LocalDate checkIn;
+        final LocalDate checkOut;
+        final long expiresAtNanos;
+        final CompletableFuture<Booking> result = new CompletableFuture<>();
+
+        Entry(Key key, int roomNumber, LocalDate checkIn, LocalDate checkOut, long expiresAtNanos) {
+            this.key = key;
+            this.roomNumber = roomNumber;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        // Only finished requests expire, so a slow one can never run twice
+        boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos >= 0;
+        }
+
+        boolean matches(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+            return this.roomNumber == roomNumber && this.checkIn.equals(checkIn) && this.checkOut.equals(checkOut);
+        }
+    }
+
+    /**
+     * A caller's hold on a key: the owner runs the request, everyone else awaits its outcome.
+     */
+    final class Claim {
+        private final Entry entry;
+        private final boolean owner;
+
+        private Claim(Entry entry, boolean owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        boolean owner() {
+            return owner;
+        }
+
+        void complete(Booking booking) {
+            entry.result.complete(booking);
+        }
+
+        /**
+         * Records a rejection for replay; any other failure is passed to current waiters and the key released.
+         */
+        void fail(RuntimeException failure) {
+            if (!(failure instanceof InvalidInputException)) {
+                entries.remove(entry.key, entry);
+            }
+            entry.result.completeExceptionally(failure);
+        }
+
+        /**
+         * The owner's booking, waiting for it if still running; its failure is rethrown.
+         */
+        Booking await() {
+            try {
+                return entry.result.join();
+            } catch (CompletionException | CancellationException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+    }
+}
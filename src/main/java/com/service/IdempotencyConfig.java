@@ -0,0 +1,19 @@
+package com.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@Builder
+public class IdempotencyConfig {
+
+    // Keys remembered at most; the oldest are forgotten first
+    @Builder.Default
+    private final int maxEntries = 100_000;
+
+    // How long a finished request's result is replayed to retries carrying its key
+    @Builder.Default
+    private final Duration ttl = Duration.ofMinutes(30);
+}
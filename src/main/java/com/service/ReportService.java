@@ -0,0 +1,136 @@
+package com.service;
+
+import com.dto.RevenueReport;
+import com.entities.Booking;
+import com.enums.RejectionReason;
+import com.enums.RoomType;
+import com.exceptions.InvalidInputException;
+import com.repository.BookingStore;
+import com.repository.ColumnarBookingStore;
+import com.repository.MonthlyAggregates;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Management reports: revenue, occupancy rate and average daily rate per room type. Calendar
+ * months are read from the store's {@link MonthlyAggregates} in constant time; any other date
+ * range is rolled up by a scan of the bookings, in parallel unless the store is columnar.
+ */
+public class ReportService {
+
+    private static final RoomType[] TYPES = RoomType.values();
+    // Bookings per fork-join leaf
+    private static final int SCAN_THRESHOLD = 4096;
+
+    private final ForkJoinPool pool;
+
+    public ReportService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ReportService(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * One report per room type for the month, from the incrementally maintained aggregates.
+     */
+    public List<RevenueReport> monthlyReport(BookingStore bookings, YearMonth month) {
+        if (month == null) throw new InvalidInputException("Month cannot be null.");
+        MonthlyAggregates aggregates = bookings.aggregates();
+        List<RevenueReport> reports = new ArrayList<>(TYPES.length);
+        for (RoomType type : TYPES) {
+            reports.add(new RevenueReport(type, month.atDay(1), month.plusMonths(1).atDay(1),
+                    bookings.occupancy().roomCount(type), aggregates.bookedNights(type, month), aggregates.revenue(type, month)));
+        }
+        return reports;
+    }
+
+    /**
+     * One report per room type for the nights [from, to), computed by a scan of every booking; stays
+     * are clipped to the range and counted under the type of the room revision they were priced
+     * against. A {@link ColumnarBookingStore} is read row by row in place, other stores by a fork-join
+     * scan of {@link BookingStore#findAll()}.
+     */
+    public List<RevenueReport> rollup(BookingStore bookings, LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new InvalidInputException("Dates cannot be null.");
+        if (!to.isAfter(from)) {
+            throw new InvalidInputException(RejectionReason.INVALID_DATES, "Report end must be after its start.");
+        }
+        long[] totals;
+        if (bookings instanceof ColumnarBookingStore columnar) {
+            totals = rollupRows(columnar, from.toEpochDay(), to.toEpochDay());
+        } else {
+            List<Booking> all = bookings.findAll();
+            totals = pool.invoke(new RollupTask(all, 0, all.size(), from, to));
+        }
+        List<RevenueReport> reports = new ArrayList<>(TYPES.length);
+        for (RoomType type : TYPES) {
+            reports.add(new RevenueReport(type, from, to, bookings.occupancy().roomCount(type),
+                    totals[type.ordinal() * 2], totals[type.ordinal() * 2 + 1]));
+        }
+        return reports;
+    }
+
+    // The same sums as RollupTask, straight from the columns
+    private static long[] rollupRows(ColumnarBookingStore bookings, long fromDay, long toDay) {
+        long[] totals = new long[TYPES.length * 2];
+        bookings.forEachRow((bookingId, roomNumber, type, checkInDay, checkOutDay, pricePerNightCents, totalCents) -> {
+            if (type == null || checkInDay >= toDay || checkOutDay <= fromDay) return;
+            totals[type.ordinal() * 2] += Math.min(checkOutDay, toDay) - Math.max(checkInDay, fromDay);
+            totals[type.ordinal() * 2 + 1] += MonthlyAggregates.revenueWithin((int) (totalCents / 100), checkInDay, checkOutDay, fromDay, toDay);
+        });
+        return totals;
+    }
+
+    // Sums [nights, revenue] per room type over bookings [start, end) of the list, halving until small enough
+    @SuppressWarnings("serial")
+    private static final class RollupTask extends RecursiveTask<long[]> {
+        private final List<Booking> bookings;
+        private final int start;
+        private final int end;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        RollupTask(List<Booking> bookings, int start, int end, LocalDate from, LocalDate to) {
+            this.bookings = bookings;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start > SCAN_THRESHOLD) {
+                int mid = (start + end) >>> 1;
+                RollupTask left = new RollupTask(bookings, start, mid, from, to);
+                left.fork();
+                long[] right = new RollupTask(bookings, mid, end, from, to).compute();
+                long[] totals = left.join();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += right[i];
+                }
+                return totals;
+            }
+            long[] totals = new long[TYPES.length * 2];
+            for (int i = start; i < end; i++) {
+                Booking booking = bookings.get(i);
+                if (booking.isCancelled()) continue;
+                RoomType type = booking.getRoomNumber().getRoomType();
+                LocalDate checkIn = booking.getCheckIn();
+                LocalDate checkOut = booking.getCheckOut();
+                if (type == null || !checkIn.isBefore(to) || !checkOut.isAfter(from)) continue;
+                long nights = Math.min(checkOut.toEpochDay(), to.toEpochDay()) - Math.max(checkIn.toEpochDay(), from.toEpochDay());
+                totals[type.ordinal() * 2] += nights;
+                totals[type.ordinal() * 2 + 1] += MonthlyAggregates.revenueWithin(booking.getTotalCost(), checkIn, checkOut, from, to);
+            }
+            return totals;
+        }
+    }
+}
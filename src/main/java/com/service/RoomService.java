@@ -1,27 +1,59 @@
 package com.service;
 
+import com.dto.Page;
 import com.entities.Room;
+import com.enums.Operation;
+import com.enums.RejectionReason;
 import com.enums.RoomType;
+import com.events.EventPublisher;
 import com.exceptions.InvalidInputException;
+import com.metrics.BookingMetrics;
+import com.persistence.Journal;
+import com.repository.RoomRepository;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 public class RoomService {
 
-    public Optional<Room> findRoom(List<Room> rooms, int roomNumber) {
-        if (rooms == null || rooms.isEmpty()) {
-            return Optional.empty();
+    private final Journal journal;
+    private final BookingMetrics metrics;
+    private final EventPublisher events;
+
+    public RoomService() {
+        this(Journal.NONE);
+    }
+
+    public RoomService(Journal journal) {
+        this(journal, new BookingMetrics());
+    }
+
+    public RoomService(Journal journal, BookingMetrics metrics) {
+        this(journal, metrics, EventPublisher.NONE);
+    }
+
+    public RoomService(Journal journal, BookingMetrics metrics, EventPublisher events) {
+        this.journal = journal;
+        this.metrics = metrics;
+        this.events = events;
+    }
+
+    public Optional<Room> findRoom(RoomRepository rooms, int roomNumber) {
+        long start = System.nanoTime();
+        try {
+            if (rooms == null || rooms.isEmpty()) {
+                return Optional.empty();
+            }
+            return rooms.findByNumber(roomNumber);
+        } finally {
+            metrics.recordLatency(Operation.FIND_ROOM, start);
         }
-        return rooms.stream()
-                .filter(r -> r.getRoomNumber() == roomNumber)
-                .findFirst();
     }
 
     /**
      * Creates a new Room.
      */
-    public void createRoom(List<Room> rooms, int roomNumber, RoomType roomType, Double price) {
+    public void createRoom(RoomRepository rooms, int roomNumber, RoomType roomType, Double price) {
         // Validation
         if (roomNumber <= 0 || price <= 0 || roomType == null) {
             throw new InvalidInputException("Invalid input: ID and Price must be positive, Type cannot be null.");
@@ -33,15 +65,32 @@ public class RoomService {
         }
 
         // Create and add
-        Room newRoom = new Room(roomNumber, roomType, price);
-        rooms.add(newRoom);
+        Room newRoom;
+        long position;
+        Lock gate = journal.mutationLock();
+        gate.lock();
+        rooms.changeLock().lock();
+        try {
+            newRoom = rooms.add(new Room(roomNumber, roomType, price));
+            try {
+                position = journal.roomCreated(newRoom);
+            } catch (RuntimeException e) {
+                rooms.revert(newRoom);
+                throw e;
+            }
+        } finally {
+            rooms.changeLock().unlock();
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+        events.roomCreated(newRoom);
         System.out.println("✅ Room " + roomNumber + " created.");
     }
 
     /**
      * Updates an existing Room.
      */
-    public void updateRoom(List<Room> rooms, int roomNumber, RoomType newType, Double newPrice) {
+    public void updateRoom(RoomRepository rooms, int roomNumber, RoomType newType, Double newPrice) {
         // Validation
         if (roomNumber <= 0 || newPrice <= 0 || newType == null) {
             throw new InvalidInputException("Invalid input: ID and Price must be positive, Type cannot be null.");
@@ -50,37 +99,45 @@ public class RoomService {
         Optional<Room> existingRoom = findRoom(rooms, roomNumber);
 
         if (existingRoom.isPresent()) {
-            Room room = existingRoom.get();
-            room.setRoomType(newType);
-            room.setPrice(newPrice);
+            long position;
+            Room updated;
+            Lock gate = journal.mutationLock();
+            gate.lock();
+            rooms.changeLock().lock();
+            try {
+                updated = rooms.update(roomNumber, newType, newPrice);
+                try {
+                    position = journal.roomUpdated(updated);
+                } catch (RuntimeException e) {
+                    rooms.revert(updated);
+                    throw e;
+                }
+            } finally {
+                rooms.changeLock().unlock();
+                gate.unlock();
+            }
+            journal.awaitDurable(position);
+            events.roomUpdated(updated);
             System.out.println("✅ Room " + roomNumber + " updated.");
         } else {
-            throw new InvalidInputException("Cannot update: Room " + roomNumber + " does not exist.");
+            throw new InvalidInputException(RejectionReason.NOT_FOUND, "Cannot update: Room " + roomNumber + " does not exist.");
         }
     }
 
     /**
-     * Lists all rooms from Latest to Oldest with table styling.
+     * One page of rooms, latest created first; {@code cursor} is the previous page's
+     * {@link Page#getNextCursor()}, or null for the first page.
      */
-    public void listAllRooms(List<Room> rooms) {
-        System.out.println("\n╔════════════════════════════════════════╗");
-        System.out.println("║             CURRENT ROOMS              ║");
-        System.out.println("╠══════╤══════════════════╤══════════════╣");
-        System.out.println("║  ID  │       TYPE       │  PRICE ($)   ║");
-        System.out.println("╠══════╪══════════════════╪══════════════╣");
-
-        if (rooms == null || rooms.isEmpty()) {
-            System.out.println("║          No rooms available            ║");
-        } else {
-            // Loop backwards (Latest created to Oldest created)
-            for (int i = rooms.size() - 1; i >= 0; i--) {
-                Room room = rooms.get(i);
-                System.out.printf("║ %-4d │ %-16s │ %12.2f ║%n",
-                        room.getRoomNumber(),
-                        room.getRoomType(),
-                        room.getPrice());
+    public Page<Room> listRooms(RoomRepository rooms, String cursor, int pageSize) {
+        Page.checkSize(pageSize);
+        Integer afterRoomNumber = null;
+        if (cursor != null) {
+            try {
+                afterRoomNumber = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException("Invalid cursor: " + cursor);
             }
         }
-        System.out.println("╚══════╧══════════════════╧══════════════╝");
+        return Page.of(rooms.findNewestFirst(afterRoomNumber, pageSize + 1), pageSize, r -> String.valueOf(r.getRoomNumber()));
     }
 }
\ No newline at end of file
@@ -1,62 +1,128 @@
 package com.service;
 
+import com.dto.Page;
 import com.entities.User;
+import com.enums.Operation;
+import com.enums.RejectionReason;
+import com.events.EventPublisher;
 import com.exceptions.InvalidInputException;
+import com.metrics.BookingMetrics;
+import com.persistence.Journal;
+import com.repository.UserRepository;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 
 public class UserService {
 
+    private final Journal journal;
+    private final BookingMetrics metrics;
+    private final EventPublisher events;
 
-    private Optional<User> findUserById(List<User> users, String userId) {
-        if (users == null || userId == null) return Optional.empty();
-        return users.stream()
-                .filter(u -> u.getId().equals(userId))
-                .findFirst();
+    public UserService() {
+        this(Journal.NONE);
     }
 
-    public void createUser(List<User> users, int balance) {
+    public UserService(Journal journal) {
+        this(journal, new BookingMetrics());
+    }
+
+    public UserService(Journal journal, BookingMetrics metrics) {
+        this(journal, metrics, EventPublisher.NONE);
+    }
+
+    public UserService(Journal journal, BookingMetrics metrics, EventPublisher events) {
+        this.journal = journal;
+        this.metrics = metrics;
+        this.events = events;
+    }
+
+    public Optional<User> findUserById(UserRepository users, String userId) {
+        long start = System.nanoTime();
+        try {
+            if (users == null || userId == null) return Optional.empty();
+            return users.findById(userId);
+        } finally {
+            metrics.recordLatency(Operation.FIND_USER, start);
+        }
+    }
+
+    public void createUser(UserRepository users, int balance) {
+        createUser(users, UUID.randomUUID().toString(), balance);
+    }
+
+    /**
+     * Creates a user with a caller-chosen ID (e.g. fixed IDs for scripted scenarios).
+     */
+    public void createUser(UserRepository users, String id, int balance) {
         if (balance < 0) {
             throw new InvalidInputException("Balance cannot be negative.");
         }
-        String newId = UUID.randomUUID().toString();
-        User newUser = new User(newId, balance);
+        if (id == null || id.isBlank()) {
+            throw new InvalidInputException("User ID cannot be empty.");
+        }
+        if (id.getBytes(StandardCharsets.UTF_8).length > User.MAX_ID_BYTES) {
+            throw new InvalidInputException("User ID cannot be longer than " + User.MAX_ID_BYTES + " bytes.");
+        }
+        User newUser = new User(id, balance);
 
-        users.add(newUser);
+        long position;
+        Lock gate = journal.mutationLock();
+        gate.lock();
+        try {
+            users.add(newUser);
+            try {
+                position = journal.userCreated(newUser, balance);
+            } catch (RuntimeException e) {
+                users.remove(newUser);
+                throw e;
+            }
+        } finally {
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+        events.userCreated(newUser);
         System.out.println("✅ User created successfully with ID: " + newUser.getId());
     }
-    public void updateUser(List<User> users, int balance, String id) {
+    public void updateUser(UserRepository users, int balance, String id) {
         if (balance < 0) {
             throw new InvalidInputException("Balance cannot be negative.");
         }
         User user = findUserById(users, id)
-                .orElseThrow(() -> new InvalidInputException("User with ID " + id + " not found."));
+                .orElseThrow(() -> {
+                    metrics.recordRejection(RejectionReason.NOT_FOUND);
+                    return new InvalidInputException(RejectionReason.NOT_FOUND, "User with ID " + id + " not found.");
+                });
 
-        user.setBalance(balance);
+        long position;
+        int change;
+        Lock gate = journal.mutationLock();
+        gate.lock();
+        try {
+            // Bookings may debit the user meanwhile, so the change is taken in the same step as the set
+            change = balance - user.getAndSetBalance(balance);
+            try {
+                position = journal.userUpdated(user, change);
+            } catch (RuntimeException e) {
+                user.credit(-change);
+                throw e;
+            }
+        } finally {
+            gate.unlock();
+        }
+        journal.awaitDurable(position);
+        events.balanceChanged(user, balance, change);
         System.out.println("✅ User " + id + " updated. New Balance: " + balance);
     }
 
-    public void listAllUsers(List<User> users) {
-        System.out.println("\n╔══════════════════════════════════════════════════════╗");
-        System.out.println("║                    USER DIRECTORY                    ║");
-        System.out.println("╠══════════════════════════════════════╤═══════════════╣");
-        System.out.println("║               USER ID                │    BALANCE    ║");
-        System.out.println("╠══════════════════════════════════════╪═══════════════╣");
-
-        if (users == null || users.isEmpty()) {
-            System.out.println("║             No users registered yet.                 ║");
-        } else {
-
-            for (int i = users.size() - 1; i >= 0; i--) {
-                User u = users.get(i);
-                System.out.printf("║ %-36s │ %13d ║%n",
-                        u.getId(),     // Prints the UUID string
-                        u.getBalance() // Prints the integer balance
-                );
-            }
-        }
-        System.out.println("╚══════════════════════════════════════╧═══════════════╝");
+    /**
+     * One page of users, latest created first; {@code cursor} is the previous page's
+     * {@link Page#getNextCursor()}, or null for the first page.
+     */
+    public Page<User> listUsers(UserRepository users, String cursor, int pageSize) {
+        Page.checkSize(pageSize);
+        return Page.of(users.findNewestFirst(cursor, pageSize + 1), pageSize, User::getId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.util;
+
+/**
+ * Open-addressing hash map from {@code int} keys to non-negative {@code int} values, for indexes
+ * where even the value objects of an {@link IntObjectMap} would dominate the footprint.
+ * Not thread-safe.
+ */
+public class IntIntMap {
+
+    public static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    // value + 1, so that 0 marks an empty slot
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    public IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Value mapped to {@code key}, or {@link #MISSING}.
+     */
+    public int get(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i] - 1;
+        }
+        return MISSING;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Associates {@code value} (never negative) with {@code key}, returning the previous value or {@link #MISSING}.
+     */
+    public int put(int key, int value) {
+        if (value < 0 || value == Integer.MAX_VALUE) throw new IllegalArgumentException("Value out of range: " + value);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i] - 1;
+                values[i] = value + 1;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return MISSING;
+    }
+
+    /**
+     * Removes {@code key}, returning its value or {@link #MISSING}.
+     */
+    public int remove(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i] - 1;
+                shiftBack(i, mask);
+                size--;
+                return previous;
+            }
+        }
+        return MISSING;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int hole, int mask) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == 0) break;
+            int home = slot(keys[i], mask);
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        values[hole] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] == 0) continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
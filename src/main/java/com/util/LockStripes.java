@@ -0,0 +1,37 @@
+package com.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared by hashing an int key onto it, so unrelated keys
+ * rarely contend while memory stays bounded regardless of the key count.
+ */
+public class LockStripes {
+
+    private final ReentrantLock[] locks;
+
+    public LockStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock lockFor(int key) {
+        return locks[stripeOf(key)];
+    }
+
+    public int stripeOf(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (locks.length - 1);
+    }
+
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    public ReentrantLock stripe(int index) {
+        return locks[index];
+    }
+}
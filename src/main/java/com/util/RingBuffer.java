@@ -0,0 +1,79 @@
+package com.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer, over a power-of-two array of slots.
+ * Each slot carries a sequence number telling whose turn it is: a producer claims the next slot
+ * with one CAS on the tail and publishes it by advancing the slot's sequence; the consumer takes
+ * slots in order and hands them back a lap later. Nothing is allocated per element.
+ */
+public class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    // Only the consumer thread reads or writes the head
+    private long head;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2: " + capacity);
+        }
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends the element unless the buffer is full; safe from any thread.
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long turn = sequences.get(slot) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (turn < 0) {
+                // The consumer has not yet freed this slot from the previous lap
+                return false;
+            }
+            // Another producer claimed the slot first; retry on the new tail
+        }
+    }
+
+    /**
+     * Takes the oldest element, or null if none is published yet; consumer thread only.
+     */
+    public E poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) return null;
+        E element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * True if nothing is published; exact only on the consumer thread.
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,235 @@
+package com.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: a ring of power-of-two buckets, each a doubly-linked list of timeouts, swept one
+ * bucket per tick by a single worker thread. A timeout lands in the bucket of its deadline tick and
+ * counts the full laps it still has to wait, so scheduling, cancelling and expiring are O(1) each,
+ * however many timeouts are pending, and there is no task or thread per timeout.
+ * <p>
+ * Any thread may schedule or cancel; both go through lock-free queues that only the worker drains,
+ * so buckets are never shared. Timeouts fire no earlier than their deadline and at most about one
+ * tick late. The worker is a daemon started by the first {@link #schedule}.
+ */
+public class TimerWheel<T> implements AutoCloseable {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    // Timeouts moved from the queue into buckets per tick, so a burst cannot stall expiry
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final Bucket<T>[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final Consumer<T> onExpiry;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread worker;
+    private final long startNanos = System.nanoTime();
+    private volatile boolean closed;
+    // Only the worker reads or writes the current tick
+    private long tick;
+
+    public TimerWheel(String name, long tickDuration, TimeUnit unit, int buckets, Consumer<T> onExpiry) {
+        if (buckets < 2 || Integer.bitCount(buckets) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two of at least 2: " + buckets);
+        }
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+        this.wheel = newWheel(buckets);
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = buckets - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.onExpiry = onExpiry;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    // Arrays of a generic type can only be created raw or wildcard and cast
+    @SuppressWarnings("unchecked")
+    private static <T> Bucket<T>[] newWheel(int buckets) {
+        return (Bucket<T>[]) new Bucket<?>[buckets];
+    }
+
+    /**
+     * Arranges for {@code item} to be handed to the expiry callback once {@code delay} has passed,
+     * unless the returned timeout is cancelled first.
+     */
+    public Timeout<T> schedule(T item, long delay, TimeUnit unit) {
+        if (closed) {
+            throw new IllegalStateException("Timer wheel is closed.");
+        }
+        if (!started.get() && started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        Timeout<T> timeout = new Timeout<>(this, item, System.nanoTime() - startNanos + Math.max(unit.toNanos(delay), 0));
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Timeouts scheduled and neither fired nor cancelled yet.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker; timeouts still pending never fire.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (started.get()) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            if (!awaitTick()) return;
+            removeCancelled();
+            transferScheduled();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    // Sleeps until the end of the current tick; false once closed
+    private boolean awaitTick() {
+        long deadline = (tick + 1) * tickNanos;
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) return true;
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (closed) return false;
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            // Cancelled before it reached a bucket: the transfer skips it instead
+            if (timeout.bucket != null) timeout.bucket.remove(timeout);
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout<T> timeout = scheduled.poll();
+            if (timeout == null) return;
+            if (timeout.state.get() != PENDING) continue;
+            long deadlineTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            // A deadline already passed goes into the current bucket, which is swept next
+            wheel[(int) (Math.max(deadlineTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                    pending.decrementAndGet();
+                    try {
+                        onExpiry.accept(timeout.item);
+                    } catch (RuntimeException e) {
+                        System.out.println("❌ Expiry of " + timeout.item + " failed: " + e.getMessage());
+                    }
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of one scheduled item.
+     */
+    public static final class Timeout<T> {
+
+        private final TimerWheel<T> wheel;
+        private final T item;
+        // Nanoseconds after the wheel's start
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // Worker-only: laps left, and the bucket list links
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(TimerWheel<T> wheel, T item, long deadline) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        /**
+         * Stops the timeout from firing; false if it already fired or was cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * True once the timeout has fired, from the moment just before its callback runs.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) timeout.previous.next = timeout.next;
+            if (timeout.next != null) timeout.next.previous = timeout.previous;
+            if (timeout == head) head = timeout.next;
+            if (timeout == tail) tail = timeout.previous;
+            timeout.previous = timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.view;
+
+import com.entities.Booking;
+
+/**
+ * Booking history table of menu option 6.
+ */
+public class BookingTable extends TableWriter<Booking> {
+
+    public BookingTable(Appendable out) {
+        super(out);
+    }
+
+    @Override
+    protected void header() {
+        line("");
+        line("╔════════════════════════════════════════════════════════════════════════╗");
+        line("║                           BOOKING HISTORY                              ║");
+        line("╠══════╤════════════════╤══════╤════════════╤════════════╤═══════════════╣");
+        line("║  ID  │    USER ID     │ ROOM │  CHECK-IN  │ CHECK-OUT  │   COST ($)    ║");
+        line("╠══════╪════════════════╪══════╪════════════╪════════════╪═══════════════╣");
+    }
+
+    @Override
+    protected void row(Booking b) {
+        String userId = b.getUser().getId();
+        buffer().append("║ ");
+        left(b.getBookingId(), 4);
+        buffer().append(" │ ");
+        // Truncate User ID for display if it's a long UUID
+        left(userId.length() > 14 ? userId.substring(0, 14) : userId, 14);
+        buffer().append(" │ ");
+        left(b.getRoomNumber().getRoomNumber(), 4);
+        buffer().append(" │ ");
+        left(b.getCheckIn(), 10);
+        buffer().append(" │ ");
+        left(b.getCheckOut(), 10);
+        buffer().append(" │ ");
+        if (b.isCancelled()) {
+            right("CANCELLED", 13);
+        } else {
+            right(b.getTotalCost(), 13);
+        }
+        line(" ║");
+    }
+
+    @Override
+    protected void emptyRow() {
+        line("║                     No bookings records found.                         ║");
+    }
+
+    @Override
+    protected void footer() {
+        line("╚══════╧════════════════╧══════╧════════════╧════════════╧═══════════════╝");
+    }
+}
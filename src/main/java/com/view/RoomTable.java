@@ -0,0 +1,45 @@
+package com.view;
+
+import com.entities.Room;
+
+/**
+ * Room catalog table of menu option 5.
+ */
+public class RoomTable extends TableWriter<Room> {
+
+    public RoomTable(Appendable out) {
+        super(out);
+    }
+
+    @Override
+    protected void header() {
+        line("");
+        line("╔════════════════════════════════════════╗");
+        line("║             CURRENT ROOMS              ║");
+        line("╠══════╤══════════════════╤══════════════╣");
+        line("║  ID  │       TYPE       │  PRICE ($)   ║");
+        line("╠══════╪══════════════════╪══════════════╣");
+    }
+
+    @Override
+    protected void row(Room room) {
+        buffer().append("║ ");
+        left(room.getRoomNumber(), 4);
+        buffer().append(" │ ");
+        left(room.getRoomType(), 16);
+        buffer().append(" │ ");
+        // Catalogs are small, so the exact %.2f rounding is worth a format call
+        buffer().append(String.format("%12.2f", room.getPrice()));
+        line(" ║");
+    }
+
+    @Override
+    protected void emptyRow() {
+        line("║          No rooms available            ║");
+    }
+
+    @Override
+    protected void footer() {
+        line("╚══════╧══════════════════╧══════════════╝");
+    }
+}
@@ -0,0 +1,118 @@
+package com.view;
+
+import com.dto.Page;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * Renders a box-drawn table page by page into any {@link Appendable} (a {@code PrintStream},
+ * a {@code Writer}, a {@code StringBuilder}). Rows are formatted into a local buffer that is
+ * handed to the target in large chunks, so a listing of millions of rows never holds more
+ * than one page and one buffer in memory.
+ */
+public abstract class TableWriter<T> {
+
+    private static final int FLUSH_AT = 8 * 1024;
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Appendable out;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_AT + 256);
+
+    protected TableWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the whole table, fetching pages from {@code pages} (called with null first, then
+     * with each page's cursor) until the last page.
+     */
+    public void write(Function<String, Page<T>> pages) {
+        header();
+        boolean empty = true;
+        String cursor = null;
+        do {
+            Page<T> page = pages.apply(cursor);
+            for (T item : page.getItems()) {
+                row(item);
+                empty = false;
+                if (buffer.length() >= FLUSH_AT) flush();
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        if (empty) {
+            emptyRow();
+        }
+        footer();
+        flush();
+    }
+
+    protected abstract void header();
+
+    protected abstract void row(T item);
+
+    protected abstract void emptyRow();
+
+    protected abstract void footer();
+
+    protected void line(String text) {
+        buffer.append(text).append(NEWLINE);
+    }
+
+    /**
+     * The buffer a row is formatted into; finish the row with {@link #line(String)}.
+     */
+    protected StringBuilder buffer() {
+        return buffer;
+    }
+
+    // Left-aligned in at least `width` columns (like %-Ns: longer values are not cut)
+    protected void left(Object value, int width) {
+        int start = buffer.length();
+        buffer.append(value);
+        pad(width - (buffer.length() - start));
+    }
+
+    protected void left(long value, int width) {
+        int start = buffer.length();
+        buffer.append(value);
+        pad(width - (buffer.length() - start));
+    }
+
+    // Right-aligned in at least `width` columns (like %Nd)
+    protected void right(long value, int width) {
+        pad(width - digits(value));
+        buffer.append(value);
+    }
+
+    protected void right(String text, int width) {
+        pad(width - text.length());
+        buffer.append(text);
+    }
+
+    private void pad(int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.append(' ');
+        }
+    }
+
+    private static int digits(long value) {
+        int length = value < 0 ? 2 : 1;
+        long rest = Math.abs(value / 10);
+        while (rest > 0) {
+            length++;
+            rest /= 10;
+        }
+        return length;
+    }
+
+    private void flush() {
+        try {
+            out.append(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.view;
+
+import com.entities.User;
+
+/**
+ * User directory table of menu option 4.
+ */
+public class UserTable extends TableWriter<User> {
+
+    public UserTable(Appendable out) {
+        super(out);
+    }
+
+    @Override
+    protected void header() {
+        line("");
+        line("╔══════════════════════════════════════════════════════╗");
+        line("║                    USER DIRECTORY                    ║");
+        line("╠══════════════════════════════════════╤═══════════════╣");
+        line("║               USER ID                │    BALANCE    ║");
+        line("╠══════════════════════════════════════╪═══════════════╣");
+    }
+
+    @Override
+    protected void row(User u) {
+        buffer().append("║ ");
+        left(u.getId(), 36);
+        buffer().append(" │ ");
+        right(u.getBalance(), 13);
+        line(" ║");
+    }
+
+    @Override
+    protected void emptyRow() {
+        line("║             No users registered yet.                 ║");
+    }
+
+    @Override
+    protected void footer() {
+        line("╚══════════════════════════════════════╧═══════════════╝");
+    }
+}